@@ -0,0 +1,91 @@
+package org.renpy.android.cloudsave;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Restores the files of a backup from one streamed zip instead of one
+// request per file. Entries are written into the staging folder as they
+// arrive, so the archive itself never touches the disk. Files it misses
+// are left to the per-file download.
+public class ArchiveRestore {
+
+    public interface Listener {
+        void onEntryStarted(String filename);
+
+        void onBytes(long count);
+    }
+
+    // Extracts the entries named in wanted that are not on disk yet and
+    // returns the ones written. Returns null when the server has no archive
+    // for this backup. A connection that breaks midway keeps the entries
+    // completed so far and throws.
+    public static Set<String> extract(HttpURLConnection conn, File saveDir, Set<String> wanted, Listener listener) throws IOException {
+        Set<String> written = new HashSet<>();
+        try {
+            int code = conn.getResponseCode();
+            if (code != 200) {
+                // 404 from servers without the endpoint
+                CloudSaveApiClient.readFully(CloudSaveApiClient.decoded(conn,
+                    code >= 400 ? conn.getErrorStream() : conn.getInputStream()));
+                android.util.Log.i("CloudSave", "No backup archive (HTTP " + code + "), using per-file downloads");
+                return null;
+            }
+
+            try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(
+                    CloudSaveApiClient.decoded(conn, conn.getInputStream())))) {
+                byte[] buffer = new byte[8192];
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    String name = entry.getName();
+                    // Only names from the backup's file list, which also keeps
+                    // entries from escaping the staging folder
+                    if (entry.isDirectory() || !wanted.contains(name)) continue;
+                    File target = new File(saveDir, name);
+                    if (target.exists()) continue;
+
+                    listener.onEntryStarted(name);
+                    target.getParentFile().mkdirs();
+                    File tmp = new File(target.getPath() + ".tmp");
+                    try (OutputStream out = new FileOutputStream(tmp)) {
+                        int read;
+                        while ((read = zip.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            listener.onBytes(read);
+                        }
+                    } catch (IOException e) {
+                        tmp.delete();
+                        throw e;
+                    }
+                    if (!tmp.renameTo(target)) {
+                        tmp.delete();
+                        throw new IOException("Cannot move " + tmp + " to " + target);
+                    }
+                    written.add(name);
+                }
+            }
+            return written;
+        } catch (IOException e) {
+            conn.disconnect();
+            android.util.Log.w("CloudSave", "Archive stream broke after " + written.size() + " files: " + e.getMessage());
+            throw new PartialArchiveException(written, e);
+        }
+    }
+
+    // Carries the entries that were complete before the stream broke
+    public static class PartialArchiveException extends IOException {
+        public final Set<String> written;
+
+        PartialArchiveException(Set<String> written, IOException cause) {
+            super(cause.getMessage(), cause);
+            this.written = written;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package org.renpy.android.cloudsave;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import android.widget.ImageView;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Decodes the profile images of community saves and comments on a worker
+// thread, subsampled to the size they are shown at, and keeps the circular
+// results in a memory LRU so scrolling back does not decode again.
+//
+// Images come either inline as Base64 or as a reference: an id that names
+// the image content plus a URL to fetch it from. Referenced images are
+// fetched once per id, kept in a size-bounded disk cache keyed by that id
+// and shared by every card and comment of the same player.
+public class AvatarLoader {
+    private static final int DECODE_THREADS = 2;
+    private static final int DEFAULT_AVATAR_SIZE = 100;
+    private static final long DISK_CACHE_SIZE = 4 * 1024 * 1024;
+
+    private static AvatarLoader instance;
+
+    private final LruCache<String, Bitmap> cache;
+    private final HttpDiskCache disk;
+    private final CloudSaveApiClient apiClient;
+    private final ExecutorService decoder = Executors.newFixedThreadPool(DECODE_THREADS);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Views waiting for a referenced image that is being fetched. Main thread only.
+    private final Map<String, List<ImageView>> fetching = new HashMap<>();
+    private Bitmap defaultAvatar;
+
+    public static synchronized AvatarLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new AvatarLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private AvatarLoader(Context context) {
+        disk = new HttpDiskCache(new File(context.getCacheDir(), "avatars"), DISK_CACHE_SIZE);
+        apiClient = CloudSaveApiClient.getInstance(context);
+
+        // 1/16 of the heap is plenty for avatars of a few dozen pixels
+        int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 16, 8 * 1024 * 1024);
+        cache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    // Must be called on the UI thread. The view shows the default avatar
+    // until the decode finishes, and ignores the result if it has been
+    // rebound to another image meanwhile.
+    public void load(ImageView view, String base64, int sizePx) {
+        if (base64 == null || base64.isEmpty()) {
+            view.setTag(null);
+            view.setImageBitmap(getDefaultAvatar());
+            return;
+        }
+
+        // String caches its hashCode, so this stays cheap for large payloads
+        String key = base64.hashCode() + ":" + base64.length() + "@" + sizePx;
+        Bitmap cached = cache.get(key);
+        view.setTag(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+
+        view.setImageBitmap(getDefaultAvatar());
+        decoder.execute(() -> {
+            android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+            Bitmap avatar = decode(base64, sizePx);
+            if (avatar != null) {
+                cache.put(key, avatar);
+            }
+            mainHandler.post(() -> {
+                if (key.equals(view.getTag())) {
+                    view.setImageBitmap(avatar != null ? avatar : getDefaultAvatar());
+                }
+            });
+        });
+    }
+
+    // Same as load(view, base64, sizePx), but prefers the referenced image
+    // when the payload carried one
+    public void load(ImageView view, String base64, String avatarId, String url, int sizePx) {
+        if (avatarId == null || avatarId.isEmpty() || url == null || url.isEmpty()) {
+            load(view, base64, sizePx);
+            return;
+        }
+
+        String key = "id:" + avatarId + "@" + sizePx;
+        Bitmap cached = cache.get(key);
+        view.setTag(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+
+        view.setImageBitmap(getDefaultAvatar());
+        List<ImageView> waiting = fetching.get(key);
+        if (waiting != null) {
+            // One fetch and decode serves every view showing this player
+            waiting.add(view);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(view);
+        fetching.put(key, waiting);
+
+        decoder.execute(() -> {
+            android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+            byte[] bytes = readReferenced(avatarId, url);
+            Bitmap avatar = bytes != null ? decode(bytes, sizePx) : null;
+            if (avatar != null) {
+                cache.put(key, avatar);
+            }
+            mainHandler.post(() -> {
+                for (ImageView waitingView : fetching.remove(key)) {
+                    if (key.equals(waitingView.getTag())) {
+                        waitingView.setImageBitmap(avatar != null ? avatar : getDefaultAvatar());
+                    }
+                }
+            });
+        });
+    }
+
+    // From the disk cache, otherwise from the server into the disk cache
+    private byte[] readReferenced(String avatarId, String url) {
+        HttpDiskCache.Entry entry = disk.get(avatarId);
+        if (entry != null) {
+            try (InputStream in = entry.openBody()) {
+                return readBytes(in);
+            } catch (IOException e) {
+                disk.remove(avatarId);
+            }
+        }
+
+        try {
+            HttpURLConnection conn = apiClient.openAvatar(url);
+            int code = conn.getResponseCode();
+            if (code != 200) {
+                CloudSaveApiClient.readFully(code >= 400 ? conn.getErrorStream() : conn.getInputStream());
+                android.util.Log.w("CloudSave", "Avatar " + avatarId + " not available (HTTP " + code + ")");
+                return null;
+            }
+            byte[] bytes;
+            try (InputStream in = CloudSaveApiClient.decoded(conn, conn.getInputStream())) {
+                bytes = readBytes(in);
+            }
+
+            // An id that is a SHA-256 must match, or the cache would serve
+            // the wrong image under it for good
+            if (avatarId.length() == 64 && !avatarId.equalsIgnoreCase(sha256(bytes))) {
+                android.util.Log.w("CloudSave", "Avatar " + avatarId + " does not match its hash, not caching it");
+                return bytes;
+            }
+            HttpDiskCache.Editor editor = disk.edit(avatarId, null, null);
+            try {
+                editor.body.write(bytes);
+                editor.commit();
+            } catch (IOException e) {
+                editor.abort();
+            }
+            return bytes;
+        } catch (IOException e) {
+            android.util.Log.w("CloudSave", "Could not fetch avatar " + avatarId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return "";
+        }
+    }
+
+    private static Bitmap decode(String base64, int sizePx) {
+        try {
+            return decode(android.util.Base64.decode(base64, android.util.Base64.DEFAULT), sizePx);
+        } catch (IllegalArgumentException e) {
+            android.util.Log.w("CloudSave", "Could not decode avatar: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Bitmap decode(byte[] bytes, int sizePx) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+            if (options.outWidth <= 0 || options.outHeight <= 0) return null;
+
+            // Largest power of two that keeps the short side at least sizePx
+            int shortSide = Math.min(options.outWidth, options.outHeight);
+            int sampleSize = 1;
+            while (shortSide / (sampleSize * 2) >= sizePx) {
+                sampleSize *= 2;
+            }
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = sampleSize;
+            Bitmap source = BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+            if (source == null) return null;
+
+            Bitmap circular = createCircularBitmap(source, sizePx);
+            source.recycle();
+            return circular;
+        } catch (IllegalArgumentException | OutOfMemoryError e) {
+            android.util.Log.w("CloudSave", "Could not decode avatar: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Center-crops the source to a square and masks it to a circle of sizePx
+    private static Bitmap createCircularBitmap(Bitmap source, int sizePx) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int left = (source.getWidth() - side) / 2;
+        int top = (source.getHeight() - side) / 2;
+
+        Bitmap output = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(output);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+
+        canvas.drawCircle(sizePx / 2f, sizePx / 2f, sizePx / 2f, paint);
+        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_IN));
+        canvas.drawBitmap(source, new Rect(left, top, left + side, top + side),
+            new RectF(0, 0, sizePx, sizePx), paint);
+        return output;
+    }
+
+    // Drawn once and shared by every view without a profile image
+    private Bitmap getDefaultAvatar() {
+        if (defaultAvatar != null) return defaultAvatar;
+
+        int size = DEFAULT_AVATAR_SIZE;
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        // Background circle
+        Paint bgPaint = new Paint();
+        bgPaint.setColor(0xFF58a6ff);
+        bgPaint.setAntiAlias(true);
+        canvas.drawCircle(size / 2f, size / 2f, size / 2f, bgPaint);
+
+        // User icon
+        Paint iconPaint = new Paint();
+        iconPaint.setColor(0xFFFFFFFF);
+        iconPaint.setAntiAlias(true);
+        iconPaint.setTextSize(size * 0.6f);
+        iconPaint.setTextAlign(Paint.Align.CENTER);
+
+        Rect bounds = new Rect();
+        iconPaint.getTextBounds("👤", 0, 1, bounds);
+        float y = size / 2f + bounds.height() / 2f;
+        canvas.drawText("👤", size / 2f, y, iconPaint);
+
+        defaultAvatar = bitmap;
+        return bitmap;
+    }
+}
@@ -0,0 +1,39 @@
+package org.renpy.android.cloudsave;
+
+// One backup of the user's saves as returned by /api/saves/list
+public class BackupEntry {
+    String folderName;
+    String folderTimestamp;
+    String customName;
+    String displayName;
+    float progress;
+    boolean isTop10;
+    boolean isShared;
+    int daysRemaining = -1;
+    boolean isExpired;
+
+    BackupEntry copy() {
+        BackupEntry copy = new BackupEntry();
+        copy.folderName = folderName;
+        copy.folderTimestamp = folderTimestamp;
+        copy.customName = customName;
+        copy.displayName = displayName;
+        copy.progress = progress;
+        copy.isTop10 = isTop10;
+        copy.isShared = isShared;
+        copy.daysRemaining = daysRemaining;
+        copy.isExpired = isExpired;
+        return copy;
+    }
+
+    // True when both would render the same backup card
+    boolean sameAs(BackupEntry other) {
+        return folderTimestamp.equals(other.folderTimestamp)
+            && java.util.Objects.equals(displayName, other.displayName)
+            && progress == other.progress
+            && isTop10 == other.isTop10
+            && isShared == other.isShared
+            && daysRemaining == other.daysRemaining
+            && isExpired == other.isExpired;
+    }
+}
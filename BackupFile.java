@@ -0,0 +1,9 @@
+package org.renpy.android.cloudsave;
+
+// One file of a backup as returned by /api/saves/backup-files. size and
+// hash are only known when the server reports them.
+public class BackupFile {
+    String filename;
+    long size = -1;
+    String hash;
+}
@@ -0,0 +1,102 @@
+package org.renpy.android.cloudsave;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-pass parser for the /api/saves/backup-files response. Root files
+// come first, then the sync folder, matching the order they are restored in.
+public class BackupFileListParser {
+
+    public static List<BackupFile> parse(InputStream in) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
+        List<BackupFile> rootFiles = new ArrayList<>();
+        List<BackupFile> syncFiles = new ArrayList<>();
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "root_files":
+                        readFiles(reader, rootFiles);
+                        break;
+                    case "sync_files":
+                        readFiles(reader, syncFiles);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed file list: " + e.getMessage(), e);
+        }
+        rootFiles.addAll(syncFiles);
+        return rootFiles;
+    }
+
+    public static List<String> filenames(List<BackupFile> files) {
+        List<String> names = new ArrayList<>(files.size());
+        for (BackupFile file : files) {
+            names.add(file.filename);
+        }
+        return names;
+    }
+
+    private static void readFiles(JsonReader reader, List<BackupFile> out) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            BackupFile file = readFile(reader);
+            if (file != null) out.add(file);
+        }
+        reader.endArray();
+    }
+
+    private static BackupFile readFile(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        BackupFile file = new BackupFile();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "filename":
+                    file.filename = BackupListParser.nextString(reader);
+                    break;
+                case "size":
+                case "file_size":
+                    String size = BackupListParser.nextString(reader);
+                    try {
+                        file.size = size != null ? (long) Double.parseDouble(size) : -1;
+                    } catch (NumberFormatException e) {
+                        file.size = -1;
+                    }
+                    break;
+                case "sha256":
+                case "md5":
+                case "hash":
+                case "checksum":
+                    String hash = BackupListParser.nextString(reader);
+                    // Keep the strongest one if the server sends several
+                    if (hash != null && (file.hash == null || hash.length() > file.hash.length())) {
+                        file.hash = hash;
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return file.filename == null || file.filename.isEmpty() ? null : file;
+    }
+}
@@ -0,0 +1,156 @@
+package org.renpy.android.cloudsave;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-pass parser for the /api/saves/list response. Reads tokens straight
+// off the connection stream, so the response is never held as one string.
+public class BackupListParser {
+
+    public static class BackupList {
+        final List<BackupEntry> backups = new ArrayList<>();
+        boolean allTop10;
+        int top10Count;
+    }
+
+    public static BackupList parse(InputStream in) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
+        BackupList result = new BackupList();
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "backups":
+                        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                BackupEntry entry = readBackup(reader);
+                                if (entry != null) result.backups.add(entry);
+                            }
+                            reader.endArray();
+                        } else {
+                            reader.skipValue();
+                        }
+                        break;
+                    case "all_top10":
+                        result.allTop10 = nextBoolean(reader);
+                        break;
+                    case "top10_count":
+                        result.top10Count = nextInt(reader, 0);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new IOException("Malformed backup list: " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private static BackupEntry readBackup(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        BackupEntry entry = new BackupEntry();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "folder_name":
+                    entry.folderName = nextString(reader);
+                    break;
+                case "folder_timestamp":
+                    entry.folderTimestamp = nextString(reader);
+                    break;
+                case "custom_name":
+                    entry.customName = nextString(reader);
+                    break;
+                case "progress_percentage":
+                    entry.progress = (float) nextDouble(reader);
+                    break;
+                case "is_top10":
+                    entry.isTop10 = nextBoolean(reader);
+                    break;
+                case "is_shared":
+                    entry.isShared = nextBoolean(reader);
+                    break;
+                case "days_remaining":
+                    entry.daysRemaining = nextInt(reader, -1);
+                    break;
+                case "is_expired":
+                    entry.isExpired = nextBoolean(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (entry.folderName == null || entry.folderName.isEmpty()) {
+            return null;
+        }
+        if (entry.customName != null && (entry.customName.isEmpty() || "null".equals(entry.customName))) {
+            entry.customName = null;
+        }
+        if (entry.folderTimestamp == null || entry.folderTimestamp.isEmpty()) {
+            // Folder names end in _<unix timestamp>
+            entry.folderTimestamp = entry.folderName.substring(entry.folderName.lastIndexOf("_") + 1);
+        }
+        return entry;
+    }
+
+    // ---- lenient scalar readers: the API is not consistent about types ----
+
+    static String nextString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(reader.nextBoolean());
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    static boolean nextBoolean(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        String value = nextString(reader);
+        return "true".equalsIgnoreCase(value) || "1".equals(value);
+    }
+
+    static int nextInt(JsonReader reader, int fallback) throws IOException {
+        String value = nextString(reader);
+        if (value == null) return fallback;
+        try {
+            return (int) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    static double nextDouble(JsonReader reader) throws IOException {
+        String value = nextString(reader);
+        if (value == null) return 0.0;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.renpy.android.cloudsave;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+// The user's backups for the selected game, kept in server order in a plain
+// array with a timestamp -> index map for constant time lookups.
+public class BackupRegistry {
+    private BackupEntry[] entries = new BackupEntry[16];
+    private int size;
+    private final HashMap<String, Integer> indexByTimestamp = new HashMap<>();
+
+    // Returns false if a backup with the same timestamp is already registered
+    public boolean add(BackupEntry entry) {
+        if (indexByTimestamp.containsKey(entry.folderTimestamp)) {
+            return false;
+        }
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        indexByTimestamp.put(entry.folderTimestamp, size);
+        entries[size++] = entry;
+        return true;
+    }
+
+    public BackupEntry get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return entries[index];
+    }
+
+    public BackupEntry find(String folderTimestamp) {
+        Integer index = indexByTimestamp.get(folderTimestamp);
+        return index != null ? entries[index] : null;
+    }
+
+    public boolean isTop10(String folderTimestamp) {
+        BackupEntry entry = find(folderTimestamp);
+        return entry != null && entry.isTop10;
+    }
+
+    public boolean isShared(String folderTimestamp) {
+        BackupEntry entry = find(folderTimestamp);
+        return entry != null && entry.isShared;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Registries are swapped as a whole while other threads may read them,
+    // so edits produce a copy instead of changing this one
+
+    public BackupRegistry without(String folderTimestamp) {
+        BackupRegistry copy = new BackupRegistry();
+        for (int i = 0; i < size; i++) {
+            if (!entries[i].folderTimestamp.equals(folderTimestamp)) {
+                copy.add(entries[i]);
+            }
+        }
+        return copy;
+    }
+
+    // Replaces the entry with the same timestamp, keeping its position
+    public BackupRegistry with(BackupEntry entry) {
+        BackupRegistry copy = new BackupRegistry();
+        for (int i = 0; i < size; i++) {
+            copy.add(entries[i].folderTimestamp.equals(entry.folderTimestamp) ? entry : entries[i]);
+        }
+        return copy;
+    }
+}
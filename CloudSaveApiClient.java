@@ -0,0 +1,493 @@
+package org.renpy.android.cloudsave;
+
+import android.content.Context;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Shared client for the cloud save API. All requests go through the same
+// keep-alive connection pool with uniform timeouts and headers. GET responses
+// are kept on disk and revalidated with If-None-Match/If-Modified-Since.
+public class CloudSaveApiClient {
+    private static final int CONNECT_TIMEOUT = 15000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long CACHE_SIZE = 2 * 1024 * 1024;
+    // Asks for profile_image_id/profile_image_url instead of inline Base64
+    // avatars. Servers that do not know the parameter ignore it.
+    private static final String AVATAR_REFS = "ref";
+
+    private static CloudSaveApiClient instance;
+
+    private final String packageName;
+    private final String deviceInfo;
+    private final HttpDiskCache cache;
+
+    interface StreamParser<T> {
+        T parse(InputStream in) throws IOException;
+    }
+
+    public static class Response {
+        public final int code;
+        public final String body;
+
+        Response(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+
+        public boolean isOk() {
+            return code == 200;
+        }
+    }
+
+    public static synchronized CloudSaveApiClient getInstance(Context context) {
+        if (instance == null) {
+            instance = new CloudSaveApiClient(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private CloudSaveApiClient(Context context) {
+        packageName = context.getPackageName();
+        String androidId = android.provider.Settings.Secure.getString(
+            context.getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
+        deviceInfo = androidId != null ? androidId : "";
+        cache = new HttpDiskCache(new File(context.getCacheDir(), "api"), CACHE_SIZE);
+
+        // HttpURLConnection pools sockets process-wide; make sure reuse is on
+        // and allow enough idle connections for parallel restores.
+        System.setProperty("http.keepAlive", "true");
+        System.setProperty("http.maxConnections", String.valueOf(MAX_IDLE_CONNECTIONS));
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getDeviceInfo() {
+        return deviceInfo;
+    }
+
+    // ---- /api/games ----
+
+    public Response listGames() throws IOException {
+        return get("/api/games", query());
+    }
+
+    // ---- /api/saves/* ----
+
+    // Returns null when the server does not answer 200
+    public BackupListParser.BackupList listSaves(String gameId) throws IOException {
+        return readStreaming(open("GET", "/api/saves/list", query("game_id", gameId)), BackupListParser::parse);
+    }
+
+    // Last known backup list from the disk cache, without touching the network
+    public BackupListParser.BackupList listSavesCached(String gameId) throws IOException {
+        return readCached(url("/api/saves/list", query("game_id", gameId)), BackupListParser::parse);
+    }
+
+    // The community responses go straight from the connection into the
+    // caller's parser. These return null when the server does not answer 200.
+    <T> T communitySaves(String gameId, float userProgress, int limit, StreamParser<T> parser) throws IOException {
+        return readStreaming(open("GET", "/api/saves/community-saves", communityParams(gameId, userProgress, limit)), parser);
+    }
+
+    // A further page of one community list ("progress" or "liked"), starting
+    // at a cursor from the previous page
+    <T> T communitySavesPage(String gameId, String category, String cursor, int limit, StreamParser<T> parser) throws IOException {
+        return readStreaming(open("GET", "/api/saves/community-saves",
+            query("game_id", gameId, "category", category, "cursor", cursor, "limit", String.valueOf(limit),
+                "avatars", AVATAR_REFS)), parser);
+    }
+
+    <T> T communitySavesCached(String gameId, float userProgress, int limit, StreamParser<T> parser) throws IOException {
+        return readCached(url("/api/saves/community-saves", communityParams(gameId, userProgress, limit)), parser);
+    }
+
+    // Returns null when the server does not answer 200
+    public List<BackupFile> backupFiles(String gameId, String folderTimestamp) throws IOException {
+        return readStreaming(open("GET", "/api/saves/backup-files",
+            query("game_id", gameId, "folder_timestamp", folderTimestamp)), BackupFileListParser::parse);
+    }
+
+    public Response comments(String saveId) throws IOException {
+        return get("/api/saves/comments", query("save_id", saveId, "avatars", AVATAR_REFS));
+    }
+
+    <T> T commentsPage(String saveId, String cursor, int limit, StreamParser<T> parser) throws IOException {
+        return readStreaming(open("GET", "/api/saves/comments",
+            query("save_id", saveId, "cursor", cursor, "limit", String.valueOf(limit), "avatars", AVATAR_REFS)), parser);
+    }
+
+    public Response rate(String saveId, boolean isLike, String comment) throws IOException {
+        return send("POST", "/api/saves/rate", ratingBody(saveId, isLike, comment));
+    }
+
+    public Response updateRating(String saveId, boolean isLike, String comment) throws IOException {
+        return send("PUT", "/api/saves/rate", ratingBody(saveId, isLike, comment));
+    }
+
+    public Response deleteRating(String saveId) throws IOException {
+        return execute(open("DELETE", "/api/saves/rate", query("save_id", saveId)), null);
+    }
+
+    public Response trackDownload(String saveId) throws IOException {
+        return send("POST", "/api/saves/track-download", body("save_id", saveId));
+    }
+
+    // Reports several downloads in one request. Servers without the batch
+    // endpoint answer 404.
+    public Response trackDownloads(JSONArray events) throws IOException {
+        JSONObject json = body();
+        try {
+            json.put("events", events);
+        } catch (org.json.JSONException e) {}
+        return send("POST", "/api/saves/track-downloads", json);
+    }
+
+    public Response deleteBackup(String gameId, String folderTimestamp) throws IOException {
+        return execute(open("DELETE", "/api/saves/delete-backup",
+            query("game_id", gameId, "folder_timestamp", folderTimestamp)), null);
+    }
+
+    public Response shareBackup(String gameId, String folderTimestamp) throws IOException {
+        return send("POST", "/api/saves/share-backup", body("game_id", gameId, "folder_timestamp", folderTimestamp));
+    }
+
+    public Response refreshBackup(String gameId, String folderTimestamp) throws IOException {
+        return send("POST", "/api/saves/refresh-backup", body("game_id", gameId, "folder_timestamp", folderTimestamp));
+    }
+
+    // Opens a save file download. sourceUserId/sourceTimestamp are only set
+    // for community saves. The caller must close the connection's stream.
+    public HttpURLConnection openDownload(String gameId, String filename, String sourceUserId, String sourceTimestamp) throws IOException {
+        String params = query("game_id", gameId, "file_name", filename);
+        if (sourceUserId != null) {
+            params += "&source_user_id=" + encode(sourceUserId) +
+                "&source_timestamp=" + encode(sourceTimestamp);
+        }
+        return open("GET", "/api/saves/download", params);
+    }
+
+    // Opens the whole backup as one zip stream. Servers without the archive
+    // endpoint answer 404. The caller must close the connection's stream.
+    public HttpURLConnection openArchive(String gameId, String folderTimestamp, String sourceUserId) throws IOException {
+        String params = query("game_id", gameId, "folder_timestamp", folderTimestamp);
+        if (sourceUserId != null) {
+            params += "&source_user_id=" + encode(sourceUserId);
+        }
+        HttpURLConnection conn = open("GET", "/api/saves/download-archive", params);
+        conn.setRequestProperty("Accept", "application/zip");
+        // Entries are deflated already, compressing them again only costs CPU
+        conn.setRequestProperty("Accept-Encoding", "identity");
+        return conn;
+    }
+
+    // Fetches an avatar referenced by a community payload. url is absolute
+    // or a path on the API server. Avatars never change under their id, so
+    // AvatarLoader caches them itself and the response cache is skipped.
+    public HttpURLConnection openAvatar(String url) throws IOException {
+        HttpURLConnection conn = connect("GET", url.startsWith("/") ? CloudSaveConfig.getApiUrl() + url : url);
+        conn.setRequestProperty("Accept", "image/*");
+        // Image formats are compressed already
+        conn.setRequestProperty("Accept-Encoding", "identity");
+        return conn;
+    }
+
+    // ---- plumbing ----
+
+    private Response get(String path, String params) throws IOException {
+        return execute(open("GET", path, params), null);
+    }
+
+    private Response send(String method, String path, JSONObject body) throws IOException {
+        return execute(open(method, path, null), body.toString());
+    }
+
+    HttpURLConnection open(String method, String path, String params) throws IOException {
+        return connect(method, url(path, params));
+    }
+
+    private HttpURLConnection connect(String method, String url) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+        conn.setRequestMethod(method);
+        conn.setConnectTimeout(CONNECT_TIMEOUT);
+        conn.setReadTimeout(READ_TIMEOUT);
+        conn.setRequestProperty("Accept", "application/json");
+        // Setting this ourselves turns off the platform's transparent gzip, so
+        // bodies must be read through decoded() below
+        conn.setRequestProperty("Accept-Encoding", "gzip, deflate");
+        conn.setRequestProperty("ngrok-skip-browser-warning", "true");
+        return conn;
+    }
+
+    Response execute(HttpURLConnection conn, String body) throws IOException {
+        HttpDiskCache.Entry cached = body == null ? revalidate(conn) : null;
+        try {
+            if (body != null) {
+                byte[] payload = body.getBytes("UTF-8");
+                conn.setRequestProperty("Content-Type", "application/json");
+                conn.setDoOutput(true);
+                conn.setFixedLengthStreamingMode(payload.length);
+                OutputStream os = conn.getOutputStream();
+                os.write(payload);
+                os.close();
+            }
+
+            int code = conn.getResponseCode();
+            if (code == 304 && cached != null) {
+                readFully(conn.getInputStream());
+                return new Response(200, readFully(cached.openBody()));
+            }
+
+            String text = readFully(decoded(conn, code >= 400 ? conn.getErrorStream() : conn.getInputStream()));
+            if (code == 200 && body == null) {
+                store(conn, text);
+            }
+            return new Response(code, text);
+        } catch (IOException e) {
+            // A broken connection must not go back into the pool
+            conn.disconnect();
+            throw e;
+        }
+    }
+
+    // Hands the body to a streaming parser instead of buffering it
+    <T> T readStreaming(HttpURLConnection conn, StreamParser<T> parser) throws IOException {
+        HttpDiskCache.Entry cached = revalidate(conn);
+        try {
+            int code = conn.getResponseCode();
+            if (code == 304 && cached != null) {
+                readFully(conn.getInputStream());
+                return parseFully(new CachedBody(cached.openBody()), parser);
+            }
+            if (code != 200) {
+                readFully(decoded(conn, conn.getErrorStream()));
+                return null;
+            }
+
+            // Copy the decoded body into the cache while the parser consumes
+            // it, so cached copies never depend on the encoding they came in
+            HttpDiskCache.Editor editor = cache.edit(key(conn),
+                conn.getHeaderField("ETag"), conn.getHeaderField("Last-Modified"));
+            try {
+                T result = parseFully(new TeeInputStream(decoded(conn, conn.getInputStream()), editor.body), parser);
+                editor.commit();
+                return result;
+            } catch (IOException | RuntimeException e) {
+                editor.abort();
+                throw e;
+            }
+        } catch (IOException e) {
+            conn.disconnect();
+            throw e;
+        }
+    }
+
+    // Parses the cached body for url, or returns null if nothing is cached
+    private <T> T readCached(String url, StreamParser<T> parser) throws IOException {
+        HttpDiskCache.Entry cached = cache.get(url);
+        if (cached == null) return null;
+        try {
+            return parseFully(new CachedBody(cached.openBody()), parser);
+        } catch (IOException e) {
+            cache.remove(url);
+            throw e;
+        }
+    }
+
+    private static <T> T parseFully(InputStream stream, StreamParser<T> parser) throws IOException {
+        try {
+            T result = parser.parse(stream);
+            drain(stream);
+            return result;
+        } finally {
+            stream.close();
+        }
+    }
+
+    // Adds validators of the cached copy so an unchanged resource costs a 304
+    private HttpDiskCache.Entry revalidate(HttpURLConnection conn) {
+        if (!"GET".equals(conn.getRequestMethod())) return null;
+        HttpDiskCache.Entry cached = cache.get(key(conn));
+        if (cached == null) return null;
+        if (cached.etag != null) {
+            conn.setRequestProperty("If-None-Match", cached.etag);
+        }
+        if (cached.lastModified != null) {
+            conn.setRequestProperty("If-Modified-Since", cached.lastModified);
+        }
+        return cached;
+    }
+
+    private void store(HttpURLConnection conn, String text) {
+        try {
+            HttpDiskCache.Editor editor = cache.edit(key(conn),
+                conn.getHeaderField("ETag"), conn.getHeaderField("Last-Modified"));
+            try {
+                editor.body.write(text.getBytes("UTF-8"));
+                editor.commit();
+            } catch (IOException e) {
+                editor.abort();
+                throw e;
+            }
+        } catch (IOException e) {
+            android.util.Log.w("CloudSave", "Could not cache " + conn.getURL().getPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static String key(HttpURLConnection conn) {
+        return conn.getURL().toString();
+    }
+
+    private static String url(String path, String params) {
+        return CloudSaveConfig.getApiUrl() + path + (params != null ? "?" + params : "");
+    }
+
+    private static void drain(InputStream stream) throws IOException {
+        byte[] buffer = new byte[1024];
+        while (stream.read(buffer) != -1) {
+            // Discard trailing bytes so the connection can be reused
+        }
+    }
+
+    // Undoes the Content-Encoding of a response body while it is read. The
+    // stream may be null, as getErrorStream() is for bodiless errors.
+    static InputStream decoded(HttpURLConnection conn, InputStream stream) throws IOException {
+        String encoding = conn.getContentEncoding();
+        if (stream == null || encoding == null) return stream;
+        encoding = encoding.trim().toLowerCase(java.util.Locale.ROOT);
+        if (encoding.equals("gzip") || encoding.equals("x-gzip")) {
+            return new GZIPInputStream(stream, 8192);
+        }
+        if (encoding.equals("deflate")) {
+            // Meant to be zlib-wrapped, but some servers send raw deflate
+            BufferedInputStream in = new BufferedInputStream(stream);
+            in.mark(2);
+            int cmf = in.read();
+            int flg = in.read();
+            in.reset();
+            boolean zlib = cmf != -1 && flg != -1 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+            return new InflaterInputStream(in, new Inflater(!zlib), 8192);
+        }
+        return stream;
+    }
+
+    // Reads and closes the stream. Draining it completely is what lets the
+    // underlying socket be reused for the next request.
+    static String readFully(InputStream stream) throws IOException {
+        if (stream == null) return "";
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toString("UTF-8");
+        } finally {
+            stream.close();
+        }
+    }
+
+    private String communityParams(String gameId, float userProgress, int limit) throws IOException {
+        String params = query("game_id", gameId, "user_progress", String.valueOf(userProgress), "avatars", AVATAR_REFS);
+        if (limit > 0) {
+            params += "&limit=" + limit;
+        }
+        return params;
+    }
+
+    private String query(String... keyValues) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            sb.append(keyValues[i]).append('=').append(encode(keyValues[i + 1])).append('&');
+        }
+        sb.append("package_name=").append(encode(packageName));
+        sb.append("&device_info=").append(encode(deviceInfo));
+        return sb.toString();
+    }
+
+    private JSONObject body(String... keyValues) {
+        JSONObject json = new JSONObject();
+        try {
+            for (int i = 0; i + 1 < keyValues.length; i += 2) {
+                json.put(keyValues[i], keyValues[i + 1]);
+            }
+            json.put("package_name", packageName);
+            json.put("device_info", deviceInfo);
+        } catch (org.json.JSONException e) {
+            // Only thrown for non-finite numbers
+        }
+        return json;
+    }
+
+    private JSONObject ratingBody(String saveId, boolean isLike, String comment) {
+        JSONObject json = body("save_id", saveId, "comment", comment);
+        try {
+            json.put("is_like", isLike);
+        } catch (org.json.JSONException e) {}
+        return json;
+    }
+
+    private static String encode(String value) throws IOException {
+        return URLEncoder.encode(value != null ? value : "", "UTF-8");
+    }
+
+    // True for bodies replayed from the disk cache, which a parser must not
+    // take for what the server says right now
+    static boolean isCached(InputStream in) {
+        return in instanceof CachedBody;
+    }
+
+    private static class CachedBody extends FilterInputStream {
+        CachedBody(InputStream in) {
+            super(in);
+        }
+    }
+
+    private static class TeeInputStream extends FilterInputStream {
+        private final OutputStream copy;
+
+        TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) copy.write(b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int count) throws IOException {
+            int read = super.read(buffer, offset, count);
+            if (read > 0) copy.write(buffer, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Route skips through read() so the copy stays complete
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            int read = read(buffer, 0, buffer.length);
+            return Math.max(read, 0);
+        }
+    }
+}
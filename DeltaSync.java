@@ -0,0 +1,100 @@
+package org.renpy.android.cloudsave;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reuses files that are already on the device instead of downloading them
+// again. A local file only counts as a match when the server reported a
+// hash for it and the local content hashes to the same value.
+public class DeltaSync {
+    private final File localDir;
+    private final AtomicInteger filesReused = new AtomicInteger();
+    private final AtomicLong bytesReused = new AtomicLong();
+
+    public DeltaSync(File localDir) {
+        this.localDir = localDir;
+    }
+
+    // Copies the local file to target and returns true when it matches
+    public boolean reuse(BackupFile file, File target) {
+        if (file == null || file.hash == null) return false;
+
+        File local = new File(localDir, file.filename);
+        if (!local.isFile()) return false;
+        if (file.size >= 0 && local.length() != file.size) return false;
+
+        try {
+            String algorithm = algorithmFor(file.hash);
+            if (algorithm == null || !file.hash.equalsIgnoreCase(hash(local, algorithm))) {
+                return false;
+            }
+            copy(local, target);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            android.util.Log.w("CloudSave", "Delta check failed for " + file.filename + ": " + e.getMessage());
+            return false;
+        }
+
+        filesReused.incrementAndGet();
+        bytesReused.addAndGet(local.length());
+        return true;
+    }
+
+    public int getFilesReused() {
+        return filesReused.get();
+    }
+
+    public long getBytesReused() {
+        return bytesReused.get();
+    }
+
+    // The API does not name the algorithm, so go by the hex digest length
+    private static String algorithmFor(String hash) {
+        switch (hash.length()) {
+            case 32: return "MD5";
+            case 40: return "SHA-1";
+            case 64: return "SHA-256";
+            default: return null;
+        }
+    }
+
+    private static String hash(File file, String algorithm) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        target.getParentFile().mkdirs();
+        File tmp = new File(target.getPath() + ".tmp");
+        try (FileChannel in = new FileInputStream(source).getChannel();
+             FileChannel out = new FileOutputStream(tmp).getChannel()) {
+            long position = 0;
+            long size = in.size();
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+        if (!tmp.renameTo(target)) {
+            tmp.delete();
+            throw new IOException("Cannot move " + tmp + " to " + target);
+        }
+    }
+}
@@ -15,9 +15,6 @@ import android.widget.Toast;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,31 +23,51 @@ import org.json.JSONArray;
 
 public class DownloadSaveActivity extends Activity {
     private LinearLayout gameListLayout;
-    private LinearLayout folderListLayout;
+    private android.widget.ListView folderListView;
+    private FolderListAdapter folderAdapter;
+    private final java.util.Set<String> expandedCards = new java.util.HashSet<>();
     private LinearLayout gamesContainer;
     private LinearLayout foldersContainer;
     private List<String> installedGames = new ArrayList<>();
     private List<String> serverGames = new ArrayList<>();
-    private List<String> uploadedFolders = new ArrayList<>();
-    private List<Float> folderProgress = new ArrayList<>();
-    private List<Boolean> folderTop10Status = new ArrayList<>();
-    private List<Boolean> folderSharedStatus = new ArrayList<>();
-    private List<Integer> folderDaysRemaining = new ArrayList<>();
-    private List<Boolean> folderExpiredStatus = new ArrayList<>();
+    private volatile BackupRegistry backups = new BackupRegistry();
     public String pendingRefreshTimestamp = null;
     private String highlightGameId = null;
     private String highlightFolderTimestamp = null;
     private List<CommunitySave> communityTopProgress = new ArrayList<>();
     private List<CommunitySave> communityTopLiked = new ArrayList<>();
+    private String communityProgressCursor;
+    private String communityLikedCursor;
     private RenPyProgressTracker progressTracker;
+    private CloudSaveApiClient apiClient;
+    private MutationQueue mutations;
     private String currentUserId;
     private String selectedGame;
     private boolean showingFolders = false;
     
-    // Caching for community saves
-    private String cachedGameId = "";
-    private long lastCommunityUpdate = 0;
-    private static final long COMMUNITY_CACHE_DURATION = 180000; // 3 minutes cache
+    // Background work runs on the shared pool. screenToken lives as long as
+    // the activity, gameToken as long as the backups of one game are shown.
+    private final TaskExecutor tasks = TaskExecutor.getInstance();
+    private final TaskExecutor.Token screenToken = new TaskExecutor.Token();
+    private volatile TaskExecutor.Token gameToken = new TaskExecutor.Token(screenToken);
+    
+    // Community saves of recently opened games, shared across activity instances
+    private static final long COMMUNITY_CACHE_DURATION = 180000; // 3 minutes fresh
+    private static final int COMMUNITY_CACHE_GAMES = 8;
+    private static final StaleWhileRevalidateCache<String, CommunityLists> communityCache =
+        new StaleWhileRevalidateCache<>(COMMUNITY_CACHE_GAMES, COMMUNITY_CACHE_DURATION);
+    
+    // Community lists and comments load a page at a time; the next page is
+    // requested once the user gets within PREFETCH_DISTANCE cards of the end
+    private static final int COMMUNITY_PAGE_SIZE = 5;
+    private static final int COMMENT_PAGE_SIZE = 10;
+    private static final int PREFETCH_DISTANCE = 2;
+    // Cursors already asked for, so rebinding does not repeat a request
+    private final java.util.Set<String> requestedPages = new java.util.HashSet<>();
+    // Comment pages fetched ahead, and the ones the user is waiting for
+    // with the button that shows it. All three belong to gameToken.
+    private final java.util.Map<String, Page<CommunitySave.Comment>> prefetchedComments = new java.util.HashMap<>();
+    private final java.util.Map<String, Button> shownComments = new java.util.HashMap<>();
     
     // Progress overlay components
     private LinearLayout progressOverlay;
@@ -59,6 +76,119 @@ public class DownloadSaveActivity extends Activity {
     private ProgressBar progressBar;
     private TextView progressPercentage;
     
+    // Folder list rows, rendered by FolderListAdapter with recycled views
+    private static final int ROW_HEADER = 0;
+    private static final int ROW_MESSAGE = 1;
+    private static final int ROW_COMMUNITY = 2;
+    private static final int ROW_BACKUP = 3;
+    private static final int ROW_TYPE_COUNT = 4;
+    private static final int FOLDER_ROW_INSET = 56;
+    
+    private static class FolderRow {
+        int type;
+        String text;
+        int textSize;
+        int textColor;
+        int paddingLeft;
+        int paddingTop;
+        int paddingBottom;
+        CommunitySave save;
+        int rank;
+        String category;
+        BackupEntry backup;
+        
+        static FolderRow header(String text, int textSize, int textColor, int paddingLeft, int paddingTop, int paddingBottom) {
+            FolderRow row = new FolderRow();
+            row.type = ROW_HEADER;
+            row.text = text;
+            row.textSize = textSize;
+            row.textColor = textColor;
+            row.paddingLeft = paddingLeft;
+            row.paddingTop = paddingTop;
+            row.paddingBottom = paddingBottom;
+            return row;
+        }
+        
+        static FolderRow message(String text) {
+            FolderRow row = new FolderRow();
+            row.type = ROW_MESSAGE;
+            row.text = text;
+            return row;
+        }
+        
+        static FolderRow community(CommunitySave save, int rank, String category) {
+            FolderRow row = new FolderRow();
+            row.type = ROW_COMMUNITY;
+            row.save = save;
+            row.rank = rank;
+            row.category = category;
+            return row;
+        }
+        
+        static FolderRow backup(BackupEntry backup) {
+            FolderRow row = new FolderRow();
+            row.type = ROW_BACKUP;
+            row.backup = backup;
+            return row;
+        }
+        
+        // True when the row can keep its bound view as is
+        boolean sameContent(FolderRow other) {
+            if (type != other.type) return false;
+            switch (type) {
+                case ROW_COMMUNITY:
+                    return rank == other.rank && category.equals(other.category) && save.sameAs(other.save);
+                case ROW_BACKUP:
+                    return backup.sameAs(other.backup);
+                default:
+                    return text.equals(other.text) && textSize == other.textSize && textColor == other.textColor
+                        && paddingLeft == other.paddingLeft && paddingTop == other.paddingTop
+                        && paddingBottom == other.paddingBottom;
+            }
+        }
+    }
+    
+    private static class HeaderHolder {
+        TextView text;
+    }
+    
+    private static class MessageHolder {
+        TextView text;
+    }
+    
+    private static class CommunityCardHolder {
+        LinearLayout card;
+        android.graphics.drawable.GradientDrawable progressBg;
+        android.graphics.drawable.GradientDrawable likedBg;
+        TextView rankText;
+        ImageView profileImage;
+        TextView playerText;
+        TextView progressText;
+        TextView likesText;
+        TextView commentPreview;
+        TextView expandHint;
+        LinearLayout expandedContent;
+        CommunitySave expandedFor;
+        CommunitySave save;
+        String expansionKey;
+    }
+    
+    private static class BackupCardHolder {
+        LinearLayout card;
+        TextView backupIcon;
+        TextView statusText;
+        TextView dateText;
+        TextView celebrationMsg;
+        TextView progressText;
+        android.widget.ProgressBar progressBar;
+        Button celebrateButton;
+        Button deleteButton;
+        Button refreshButton;
+        Button shareButton;
+        Button downloadButton;
+        BackupEntry entry;
+    }
+    
     // Community save data class
     private static class CommunitySave {
         String saveId;
@@ -66,7 +196,10 @@ public class DownloadSaveActivity extends Activity {
         String folderTimestamp;
         float progress;
         String playerName;
+        // Inline Base64, or a reference the server sends instead (see AvatarLoader)
         String profileImage;
+        String profileImageId;
+        String profileImageUrl;
         int likes;
         int dislikes;
         int downloads;
@@ -74,6 +207,8 @@ public class DownloadSaveActivity extends Activity {
         String buymeacoffeeLink;
         boolean isPremium;
         java.util.List<Comment> recentComments;
+        // Where the comments after recentComments start, null when there are no more
+        String commentsCursor;
         
         static class Comment {
             String playerName;
@@ -81,7 +216,101 @@ public class DownloadSaveActivity extends Activity {
             boolean isLike;
             String date;
             String profileImage;
+            String profileImageId;
+            String profileImageUrl;
             boolean isPremium;
+            // Only used while parsing, for the own comment index
+            boolean isOwn;
+            String commentId;
+            
+            boolean sameAs(Comment other) {
+                return java.util.Objects.equals(playerName, other.playerName)
+                    && java.util.Objects.equals(comment, other.comment)
+                    && isLike == other.isLike
+                    && java.util.Objects.equals(profileImage, other.profileImage)
+                    && java.util.Objects.equals(profileImageId, other.profileImageId)
+                    && isPremium == other.isPremium;
+            }
+        }
+        
+        // Comments are copied into a new list so they can be edited independently
+        CommunitySave copy() {
+            CommunitySave copy = new CommunitySave();
+            copy.saveId = saveId;
+            copy.userId = userId;
+            copy.folderTimestamp = folderTimestamp;
+            copy.progress = progress;
+            copy.playerName = playerName;
+            copy.profileImage = profileImage;
+            copy.profileImageId = profileImageId;
+            copy.profileImageUrl = profileImageUrl;
+            copy.likes = likes;
+            copy.dislikes = dislikes;
+            copy.downloads = downloads;
+            copy.patreonLink = patreonLink;
+            copy.buymeacoffeeLink = buymeacoffeeLink;
+            copy.isPremium = isPremium;
+            copy.recentComments = new ArrayList<>(recentComments);
+            copy.commentsCursor = commentsCursor;
+            return copy;
+        }
+        
+        // True when both would render the same community card
+        boolean sameAs(CommunitySave other) {
+            if (!saveId.equals(other.saveId)
+                || !java.util.Objects.equals(userId, other.userId)
+                || progress != other.progress
+                || !java.util.Objects.equals(playerName, other.playerName)
+                || !java.util.Objects.equals(profileImage, other.profileImage)
+                || !java.util.Objects.equals(profileImageId, other.profileImageId)
+                || likes != other.likes
+                || dislikes != other.dislikes
+                || downloads != other.downloads
+                || !java.util.Objects.equals(patreonLink, other.patreonLink)
+                || !java.util.Objects.equals(buymeacoffeeLink, other.buymeacoffeeLink)
+                || isPremium != other.isPremium
+                || !java.util.Objects.equals(commentsCursor, other.commentsCursor)
+                || recentComments.size() != other.recentComments.size()) {
+                return false;
+            }
+            for (int i = 0; i < recentComments.size(); i++) {
+                if (!recentComments.get(i).sameAs(other.recentComments.get(i))) return false;
+            }
+            return true;
+        }
+    }
+    
+    private static class CommunityLists {
+        final List<CommunitySave> topProgress;
+        final List<CommunitySave> topLiked;
+        // Next page of each list, null once the server has no more
+        final String progressCursor;
+        final String likedCursor;
+        // Parsed from a 200 rather than replayed from the disk cache
+        boolean fresh;
+        
+        CommunityLists(List<CommunitySave> topProgress, List<CommunitySave> topLiked) {
+            this(topProgress, topLiked, null, null);
+        }
+        
+        CommunityLists(List<CommunitySave> topProgress, List<CommunitySave> topLiked, String progressCursor, String likedCursor) {
+            this.topProgress = topProgress;
+            this.topLiked = topLiked;
+            this.progressCursor = progressCursor;
+            this.likedCursor = likedCursor;
+        }
+    }
+    
+    // One more page of a community list or of a save's comments
+    private static class Page<T> {
+        final List<T> items;
+        final String nextCursor;
+        // Parsed from a 200 rather than replayed from the disk cache
+        boolean fresh;
+        
+        Page(List<T> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
         }
     }
 
@@ -91,6 +320,8 @@ public class DownloadSaveActivity extends Activity {
         
         // Initialize progress tracker
         progressTracker = RenPyProgressTracker.getInstance();
+        apiClient = CloudSaveApiClient.getInstance(this);
+        mutations = MutationQueue.getInstance(this);
         
         // Set current user ID to match backend format
         try {
@@ -158,13 +389,17 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void createLayout() {
-        android.widget.ScrollView scrollView = new android.widget.ScrollView(this);
-        scrollView.setFillViewport(false);
+        // Backup and community cards are rows of this list, everything above
+        // them is its header and the back button and banner its footer
+        android.widget.ListView listView = new android.widget.ListView(this);
+        listView.setBackgroundColor(0xFFFFFFFF);
+        listView.setDivider(null);
+        listView.setItemsCanFocus(true);
+        listView.setSelector(android.R.color.transparent);
         
         LinearLayout rootLayout = new LinearLayout(this);
         rootLayout.setOrientation(LinearLayout.VERTICAL);
         rootLayout.setBackgroundColor(0xFFFFFFFF);
-        rootLayout.setPadding(0, 0, 0, 100);
         
         LinearLayout headerContainer = new LinearLayout(this);
         headerContainer.setOrientation(LinearLayout.VERTICAL);
@@ -205,7 +440,7 @@ public class DownloadSaveActivity extends Activity {
         contentLayout.setElevation(8);
         LinearLayout.LayoutParams contentParams = new LinearLayout.LayoutParams(
             LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-        contentParams.setMargins(16, 16, 16, 80);
+        contentParams.setMargins(16, 16, 16, 0);
         contentLayout.setLayoutParams(contentParams);
         
         // Title with icon
@@ -323,11 +558,6 @@ public class DownloadSaveActivity extends Activity {
         foldersLabel.setTypeface(null, android.graphics.Typeface.BOLD);
         foldersContainer.addView(foldersLabel);
         
-        folderListLayout = new LinearLayout(this);
-        folderListLayout.setOrientation(LinearLayout.VERTICAL);
-        folderListLayout.setPadding(0, 12, 0, 0);
-        foldersContainer.addView(folderListLayout);
-        
         this.foldersContainer = foldersContainer;
         contentLayout.addView(foldersContainer);
         
@@ -350,10 +580,20 @@ public class DownloadSaveActivity extends Activity {
         backParams.setMargins(0, 20, 0, 20);
         backButton.setLayoutParams(backParams);
         backButton.setPadding(20, 20, 20, 20);
-        contentLayout.addView(backButton);
         
         rootLayout.addView(contentLayout);
         
+        LinearLayout footerLayout = new LinearLayout(this);
+        footerLayout.setOrientation(LinearLayout.VERTICAL);
+        footerLayout.setBackgroundColor(0xFFFFFFFF);
+        footerLayout.setPadding(0, 0, 0, 100);
+        
+        LinearLayout backContainer = new LinearLayout(this);
+        backContainer.setOrientation(LinearLayout.VERTICAL);
+        backContainer.setPadding(40, 0, 40, 60);
+        backContainer.addView(backButton);
+        footerLayout.addView(backContainer);
+        
         LinearLayout footerContainer = new LinearLayout(this);
         footerContainer.setOrientation(LinearLayout.VERTICAL);
         android.graphics.drawable.GradientDrawable footerBg = new android.graphics.drawable.GradientDrawable(
@@ -371,16 +611,21 @@ public class DownloadSaveActivity extends Activity {
         footerText.setLetterSpacing(0.1f);
         footerContainer.addView(footerText);
         
-        rootLayout.addView(footerContainer);
+        footerLayout.addView(footerContainer);
         
-        scrollView.addView(rootLayout);
-        setContentView(scrollView);
+        folderAdapter = new FolderListAdapter();
+        listView.addHeaderView(rootLayout, null, false);
+        listView.addFooterView(footerLayout, null, false);
+        listView.setAdapter(folderAdapter);
+        listView.setRecyclerListener(this::releaseExpandedContent);
+        folderListView = listView;
+        setContentView(listView);
     }
     
     private void scanForGames() {
         Toast.makeText(this, "Scanning for current game...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.executeOnce("scan", TaskExecutor.PRIORITY_LISTING, screenToken, () -> {
             try {
                 PackageManager pm = getPackageManager();
                 
@@ -402,7 +647,7 @@ public class DownloadSaveActivity extends Activity {
                 
                 android.util.Log.d("CloudSave", "DEBUG: Found " + installedGames.size() + " Ren'Py games");
                 
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     if (installedGames.isEmpty()) {
                         LinearLayout emptyCard = new LinearLayout(this);
                         emptyCard.setOrientation(LinearLayout.VERTICAL);
@@ -431,11 +676,11 @@ public class DownloadSaveActivity extends Activity {
                 });
                 
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     Toast.makeText(this, "Error scanning games: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
     
     private void displayGames() {
@@ -448,31 +693,12 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void loadServerGames() {
-        new Thread(() -> {
+        tasks.executeOnce("games", TaskExecutor.PRIORITY_LISTING, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/games?" +
-                    "package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8");
+                CloudSaveApiClient.Response response = apiClient.listGames();
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    org.json.JSONObject jsonObj = new org.json.JSONObject(jsonResponse);
+                if (response.isOk()) {
+                    org.json.JSONObject jsonObj = new org.json.JSONObject(response.body);
                     org.json.JSONArray gamesArray = jsonObj.optJSONArray("games");
                     
                     serverGames.clear();
@@ -489,12 +715,12 @@ public class DownloadSaveActivity extends Activity {
                         }
                     }
                     
-                    runOnUiThread(() -> displayServerGames());
+                    runOnUi(() -> displayServerGames());
                 }
             } catch (Exception e) {
                 android.util.Log.e("CloudSave", "Error loading server games: " + e.getMessage());
             }
-        }).start();
+        });
     }
     
     private void displayServerGames() {
@@ -590,12 +816,8 @@ public class DownloadSaveActivity extends Activity {
     private void selectGame(String game) {
         this.selectedGame = game;
         showingFolders = true;
-        
-        // Clear cache when switching games
-        if (!game.equals(cachedGameId)) {
-            lastCommunityUpdate = 0;
-            cachedGameId = "";
-        }
+        gameToken = new TaskExecutor.Token(screenToken);
+        resetPaging();
         
         // Hide games container and show folders container
         gamesContainer.setVisibility(LinearLayout.GONE);
@@ -633,405 +855,308 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void loadUploadedFolders() {
-        // Clear cache when explicitly refreshing
-        lastCommunityUpdate = 0;
-        cachedGameId = "";
-        
         Toast.makeText(this, "Loading saves...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.executeOnce("folders:" + selectedGame, TaskExecutor.PRIORITY_LISTING, gameToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gameId = extractPackageName(selectedGame);
                 
-                // Load user backups
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/list?" +
-                    "game_id=" + URLEncoder.encode(gameId, "UTF-8") +
-                    "&package_name=" + URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + URLEncoder.encode(deviceInfo, "UTF-8");
-                
-                URL url = new URL(urlString);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                uploadedFolders.clear();
-                folderProgress.clear();
-                folderTop10Status.clear();
-                folderSharedStatus.clear();
+                // Show the last known state straight away, the requests below revalidate it
+                if (backups.isEmpty()) {
+                    showCachedFolders(gameId);
+                }
                 
-                String jsonResponse = "";
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    jsonResponse = response.toString();
-                    android.util.Log.d("CloudSave", "API Response: " + jsonResponse);
-                    
-                    if (jsonResponse.contains("\"backups\":")) {
-                        String[] parts = jsonResponse.split("\"folder_name\":\"");
-                        android.util.Log.d("CloudSave", "Found " + (parts.length - 1) + " backup entries");
-                        
-                        for (int i = 1; i < parts.length; i++) {
-                            String folderPart = parts[i];
-                            int end = folderPart.indexOf("\"");
-                            if (end > 0) {
-                                String folderName = folderPart.substring(0, end);
-                                android.util.Log.d("CloudSave", "Processing folder: " + folderName);
-                                
-                                float progress = 0.0f;
-                                boolean isTop10 = false;
-                                boolean isShared = false;
-                                String customName = null;
-                                int daysRemaining = -1;
-                                boolean isExpired = false;
-                                try {
-                                    String progressSearch = "\"progress_percentage\":";
-                                    int progressStart = folderPart.indexOf(progressSearch);
-                                    if (progressStart > 0) {
-                                        progressStart += progressSearch.length();
-                                        
-                                        int progressEnd = progressStart;
-                                        while (progressEnd < folderPart.length()) {
-                                            char c = folderPart.charAt(progressEnd);
-                                            if (c == ',' || c == '}' || c == ']' || c == ' ') {
-                                                break;
-                                            }
-                                            progressEnd++;
-                                        }
-                                        
-                                        if (progressEnd > progressStart) {
-                                            String progressStr = folderPart.substring(progressStart, progressEnd).trim();
-                                            progress = Float.parseFloat(progressStr);
-                                        }
-                                    }
-                                    
-                                    // Parse is_top10 field - look in the full JSON response
-                                    String searchPattern = "\"folder_name\":\"" + folderName + "\"";
-                                    int folderStart = jsonResponse.indexOf(searchPattern);
-                                    if (folderStart > 0) {
-                                        int folderEnd = jsonResponse.indexOf("}", folderStart);
-                                        if (folderEnd > folderStart) {
-                                            String folderSection = jsonResponse.substring(folderStart, folderEnd);
-                                            String top10Search = "\"is_top10\":";
-                                            int top10Start = folderSection.indexOf(top10Search);
-                                            if (top10Start > 0) {
-                                                top10Start += top10Search.length();
-                                                int commaPos = folderSection.indexOf(",", top10Start);
-                                                int bracePos = folderSection.indexOf("}", top10Start);
-                                                int endPos = (commaPos != -1 && bracePos != -1) ? Math.min(commaPos, bracePos) : 
-                                                            (commaPos != -1 ? commaPos : bracePos);
-                                                if (endPos > top10Start) {
-                                                    String top10Str = folderSection.substring(top10Start, endPos).trim();
-                                                    isTop10 = "true".equals(top10Str);
-                                                    android.util.Log.d("CloudSave", "Parsed is_top10 for " + folderName + ": " + top10Str + " -> " + isTop10);
-                                                }
-                                            }
-                                            
-                                            // Parse is_shared field
-                                            String sharedSearch = "\"is_shared\":";
-                                            int sharedStart = folderSection.indexOf(sharedSearch);
-                                            if (sharedStart > 0) {
-                                                sharedStart += sharedSearch.length();
-                                                int sharedCommaPos = folderSection.indexOf(",", sharedStart);
-                                                int sharedBracePos = folderSection.indexOf("}", sharedStart);
-                                                int sharedEndPos = (sharedCommaPos != -1 && sharedBracePos != -1) ? Math.min(sharedCommaPos, sharedBracePos) : 
-                                                            (sharedCommaPos != -1 ? sharedCommaPos : sharedBracePos);
-                                                if (sharedEndPos > sharedStart) {
-                                                    String sharedStr = folderSection.substring(sharedStart, sharedEndPos).trim();
-                                                    isShared = "true".equals(sharedStr);
-                                                    android.util.Log.d("CloudSave", "Parsed is_shared for " + folderName + ": " + sharedStr + " -> " + isShared);
-                                                }
-                                            }
-                                            
-                                            // Parse custom_name field
-                                            String customSearch = "\"custom_name\":\"";
-                                            int customStart = folderSection.indexOf(customSearch);
-                                            if (customStart > 0) {
-                                                customStart += customSearch.length();
-                                                int customEnd = folderSection.indexOf("\"", customStart);
-                                                if (customEnd > customStart) {
-                                                    customName = folderSection.substring(customStart, customEnd);
-                                                    if ("null".equals(customName) || customName.isEmpty()) {
-                                                        customName = null;
-                                                    }
-                                                    android.util.Log.d("CloudSave", "Parsed custom_name for " + folderName + ": " + customName);
-                                                }
-                                            }
-                                            
-                                            // Parse days_remaining field
-                                            String daysSearch = "\"days_remaining\":";
-                                            int daysStart = folderSection.indexOf(daysSearch);
-                                            if (daysStart > 0) {
-                                                daysStart += daysSearch.length();
-                                                int daysEnd = folderSection.indexOf(",", daysStart);
-                                                if (daysEnd == -1) daysEnd = folderSection.indexOf("}", daysStart);
-                                                if (daysEnd > daysStart) {
-                                                    try {
-                                                        String daysStr = folderSection.substring(daysStart, daysEnd).trim();
-                                                        if (!"null".equals(daysStr)) {
-                                                            daysRemaining = Integer.parseInt(daysStr);
-                                                        }
-                                                    } catch (Exception e) {}
-                                                }
-                                            }
-                                            
-                                            // Parse is_expired field
-                                            String expiredSearch = "\"is_expired\":";
-                                            int expiredStart = folderSection.indexOf(expiredSearch);
-                                            if (expiredStart > 0) {
-                                                expiredStart += expiredSearch.length();
-                                                int expiredEnd = folderSection.indexOf(",", expiredStart);
-                                                if (expiredEnd == -1) expiredEnd = folderSection.indexOf("}", expiredStart);
-                                                if (expiredEnd > expiredStart) {
-                                                    String expiredStr = folderSection.substring(expiredStart, expiredEnd).trim();
-                                                    isExpired = "true".equals(expiredStr);
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    android.util.Log.e("CloudSave", "Error parsing folder data: " + e.getMessage());
-                                }
-                                
-                                if (!uploadedFolders.contains(folderName)) {
-                                    // Create display name with custom name + timestamp
-                                    String displayName = folderName;
-                                    if (customName != null && !customName.isEmpty()) {
-                                        try {
-                                            String timestamp = folderName.substring(folderName.lastIndexOf("_") + 1);
-                                            long ts = Long.parseLong(timestamp);
-                                            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("MMM dd, yyyy HH:mm");
-                                            String date = sdf.format(new java.util.Date(ts * 1000));
-                                            displayName = customName + " - " + date;
-                                        } catch (Exception e) {
-                                            displayName = customName + " - " + folderName;
-                                        }
-                                    }
-                                    uploadedFolders.add(displayName);
-                                    folderProgress.add(progress);
-                                    folderTop10Status.add(isTop10);
-                                    folderSharedStatus.add(isShared);
-                                    folderDaysRemaining.add(daysRemaining);
-                                    folderExpiredStatus.add(isExpired);
-                                    android.util.Log.d("CloudSave", "Added folder: " + displayName + ", progress: " + progress + ", top10: " + isTop10 + ", shared: " + isShared + ", days: " + daysRemaining);
-                                }
-                            }
+                // Load user backups
+                BackupListParser.BackupList backupList = apiClient.listSaves(gameId);
+                
+                if (backupList != null) {
+                    android.util.Log.d("CloudSave", "Found " + backupList.backups.size() + " backup entries");
+                    BackupRegistry registry = buildRegistry(backupList);
+                    // Ahead of the community lists, which render it
+                    runOnUi(() -> {
+                        if (isShowingGame(gameId)) {
+                            backups = registry;
                         }
-                    } else {
-                        android.util.Log.d("CloudSave", "No 'backups' key found in response");
-                    }
+                    });
+                } else {
+                    // Keep whatever the cache showed
+                    android.util.Log.w("CloudSave", "Backup list request failed");
                 }
                 
-                // Load community saves  
-                final String finalJsonResponse = jsonResponse;
-                loadCommunitySaves(gameId, packageName, deviceInfo, finalJsonResponse);
+                // Load community saves
+                loadCommunitySaves(gameId, backupList);
                 
             } catch (Exception e) {
                 android.util.Log.e("CloudSave", "Error in loadUploadedFolders: " + e.getMessage(), e);
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                     displayFolders(); // Show what we have
                 });
             }
-        }).start();
+        });
     }
     
-    private void loadCommunitySaves(String gameId, String packageName, String deviceInfo, final String userBackupsJson) {
-        // Check cache first
-        long currentTime = System.currentTimeMillis();
-        if (gameId.equals(cachedGameId) && 
-            currentTime - lastCommunityUpdate < COMMUNITY_CACHE_DURATION &&
-            (!communityTopProgress.isEmpty() || !communityTopLiked.isEmpty())) {
-            android.util.Log.i("CloudSave", "Using cached community saves for " + gameId);
-            runOnUiThread(() -> displayFolders());
-            return;
+    private void showCachedFolders(String gameId) {
+        try {
+            BackupListParser.BackupList cachedList = apiClient.listSavesCached(gameId);
+            if (cachedList == null) return;
+            
+            BackupRegistry registry = buildRegistry(cachedList);
+            CommunityLists cachedCommunity = communityCache.get(gameId);
+            if (cachedCommunity == null) {
+                cachedCommunity = apiClient.communitySavesCached(gameId, 0, COMMUNITY_PAGE_SIZE, this::readCommunityLists);
+            }
+            CommunityLists community = cachedCommunity;
+            runOnUi(() -> {
+                if (!isShowingGame(gameId)) return;
+                backups = registry;
+                if (community != null) {
+                    communityTopProgress = community.topProgress;
+                    communityTopLiked = community.topLiked;
+                    communityProgressCursor = community.progressCursor;
+                    communityLikedCursor = community.likedCursor;
+                }
+                displayFolders();
+            });
+        } catch (Exception e) {
+            android.util.Log.w("CloudSave", "Ignoring unreadable cache: " + e.getMessage());
+        }
+    }
+    
+    // Main thread only. Results of a game the user has left are dropped.
+    private boolean isShowingGame(String gameId) {
+        return showingFolders && gameId.equals(extractPackageName(selectedGame));
+    }
+    
+    private BackupRegistry buildRegistry(BackupListParser.BackupList backupList) {
+        BackupRegistry registry = new BackupRegistry();
+        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("MMM dd, yyyy HH:mm");
+        
+        for (BackupEntry entry : backupList.backups) {
+            // Custom name + date, otherwise just the date
+            String date = null;
+            try {
+                date = sdf.format(new java.util.Date(Long.parseLong(entry.folderTimestamp) * 1000));
+            } catch (NumberFormatException e) {
+                // Keep the raw folder name below
+            }
+            if (entry.customName != null) {
+                entry.displayName = entry.customName + " - " + (date != null ? date : entry.folderName);
+            } else {
+                entry.displayName = date != null ? "Backup from " + date : entry.folderName;
+            }
+            registry.add(entry);
+        }
+        return registry;
+    }
+    
+    private void loadCommunitySaves(String gameId, final BackupListParser.BackupList backupList) {
+        // Serve what we have right away, even if stale; refresh below unless it is fresh
+        CommunityLists cached = communityCache.get(gameId);
+        if (cached != null) {
+            boolean fresh = communityCache.isFresh(gameId);
+            // Celebrations wait for the final render
+            showCommunityLists(gameId, cached, fresh ? backupList : null);
+            if (fresh) {
+                android.util.Log.i("CloudSave", "Using cached community saves for " + gameId);
+                return;
+            }
         }
         
+        CommunityLists loaded = null;
         try {
-            String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/community-saves?" +
-                "game_id=" + URLEncoder.encode(gameId, "UTF-8") +
-                "&package_name=" + URLEncoder.encode(packageName, "UTF-8") +
-                "&device_info=" + URLEncoder.encode(deviceInfo, "UTF-8") +
-                "&user_progress=0&limit=5";
-            
-            URL url = new URL(urlString);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setConnectTimeout(15000);
-            conn.setReadTimeout(15000);
-            conn.setRequestProperty("Accept", "application/json");
-            conn.setRequestProperty("ngrok-skip-browser-warning", "true");
-            
-            communityTopProgress.clear();
-            communityTopLiked.clear();
+            long fetchedAt = System.currentTimeMillis();
+            loaded = apiClient.communitySaves(gameId, 0, COMMUNITY_PAGE_SIZE, this::readCommunityLists);
             
-            int responseCode = conn.getResponseCode();
-            
-            if (responseCode == 200) {
-                java.io.BufferedReader reader = new java.io.BufferedReader(
-                    new java.io.InputStreamReader(conn.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                String jsonResponse = response.toString();
-                
-                if (!jsonResponse.trim().isEmpty()) {
-                    communityTopProgress = parseCommunitySavesFromCategory(jsonResponse, "progress");
-                    communityTopLiked = parseCommunitySavesFromCategory(jsonResponse, "liked");
-                    
-                    // Update cache
-                    cachedGameId = gameId;
-                    lastCommunityUpdate = currentTime;
-                    
-                    android.util.Log.i("CloudSave", "Community saves loaded and cached: " + communityTopProgress.size() + " progress, " + communityTopLiked.size() + " liked");
-                } else {
-                    android.util.Log.w("CloudSave", "Empty community response");
-                }
+            if (loaded != null) {
+                indexOwnComments(loaded, fetchedAt);
+                communityCache.put(gameId, loaded);
+                android.util.Log.i("CloudSave", "Community saves loaded and cached: " + loaded.topProgress.size() + " progress, " + loaded.topLiked.size() + " liked");
             } else {
-                android.util.Log.w("CloudSave", "Community API error: " + responseCode);
+                android.util.Log.w("CloudSave", "Community API error");
             }
         } catch (Exception e) {
             android.util.Log.e("CloudSave", "Community load failed: " + e.getMessage());
         }
         
-        runOnUiThread(() -> {
-            // Check if ALL backups are in top 10
-            boolean allTop10 = false;
-            int top10Count = 0;
-            try {
-                if (userBackupsJson.contains("\"all_top10\":true")) {
-                    allTop10 = true;
-                }
-                String top10Search = "\"top10_count\":";
-                int top10Start = userBackupsJson.indexOf(top10Search);
-                if (top10Start > 0) {
-                    top10Start += top10Search.length();
-                    int top10End = userBackupsJson.indexOf(",", top10Start);
-                    if (top10End == -1) top10End = userBackupsJson.indexOf("}", top10Start);
-                    if (top10End > top10Start) {
-                        top10Count = Integer.parseInt(userBackupsJson.substring(top10Start, top10End).trim());
-                    }
-                }
-            } catch (Exception e) {}
+        if (loaded == null) {
+            // Keep showing the stale lists if there are any
+            loaded = cached != null ? cached : new CommunityLists(new ArrayList<>(), new ArrayList<>());
+        }
+        showCommunityLists(gameId, loaded, backupList);
+    }
+    
+    private void showCommunityLists(String gameId, CommunityLists lists, BackupListParser.BackupList backupList) {
+        runOnUi(() -> {
+            // The user may have switched to another game meanwhile
+            if (!showingFolders || !gameId.equals(extractPackageName(selectedGame))) return;
+            communityTopProgress = lists.topProgress;
+            communityTopLiked = lists.topLiked;
+            communityProgressCursor = lists.progressCursor;
+            communityLikedCursor = lists.likedCursor;
             
             // Show congratulations if ALL backups are top 10
-            if (allTop10 && uploadedFolders.size() > 1) {
-                showAllTop10Celebration(top10Count);
+            if (backupList != null && backupList.allTop10 && backups.size() > 1) {
+                showAllTop10Celebration(backupList.top10Count);
             }
             displayFolders();
         });
     }
     
     private void displayFolders() {
-        // Clear existing content
-        folderListLayout.removeAllViews();
-        
+        java.util.List<FolderRow> rows = new ArrayList<>();
+
         // Add community saves section
-        addCommunitySection();
-        
+        addCommunityRows(rows);
+
         // Add user backups section
-        addUserBackupsSection();
+        addUserBackupRows(rows);
+
+        // Only the rows on screen get bound
+        folderAdapter.setRows(rows);
     }
-    
-    private void addCommunitySection() {
-        // Community header
-        TextView communityHeader = new TextView(this);
-        communityHeader.setText("🌟 COMMUNITY SAVES");
-        communityHeader.setTextSize(16);
-        communityHeader.setTextColor(0xFF1B365D);
-        communityHeader.setTypeface(null, android.graphics.Typeface.BOLD);
-        communityHeader.setPadding(0, 0, 0, 12);
-        folderListLayout.addView(communityHeader);
-        
+
+    private void addCommunityRows(java.util.List<FolderRow> rows) {
+        rows.add(FolderRow.header("🌟 COMMUNITY SAVES", 16, 0xFF1B365D, 0, 0, 12));
+
         if (communityTopProgress.isEmpty() && communityTopLiked.isEmpty()) {
-            // No community saves
-            LinearLayout emptyCard = new LinearLayout(this);
-            emptyCard.setOrientation(LinearLayout.VERTICAL);
-            android.graphics.drawable.GradientDrawable emptyBg = new android.graphics.drawable.GradientDrawable();
-            emptyBg.setColor(0xFFF8F9FA);
-            emptyBg.setCornerRadius(8);
-            emptyBg.setStroke(1, 0xFFE0E0E0);
-            emptyCard.setBackground(emptyBg);
-            emptyCard.setPadding(16, 16, 16, 16);
-            LinearLayout.LayoutParams emptyParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            emptyParams.setMargins(0, 0, 0, 16);
-            emptyCard.setLayoutParams(emptyParams);
-            
-            TextView noComm = new TextView(this);
-            noComm.setText("No community saves available yet");
-            noComm.setTextColor(0xFF6C757D);
-            noComm.setTextSize(14);
-            noComm.setGravity(android.view.Gravity.CENTER);
-            emptyCard.addView(noComm);
-            
-            folderListLayout.addView(emptyCard);
-        } else {
-            // Add top progress saves
-            if (!communityTopProgress.isEmpty()) {
-                TextView progressLabel = new TextView(this);
-                progressLabel.setText("🏆 Top Progress");
-                progressLabel.setTextSize(14);
-                progressLabel.setTextColor(0xFFFF6B35);
-                progressLabel.setTypeface(null, android.graphics.Typeface.BOLD);
-                progressLabel.setPadding(8, 0, 0, 8);
-                folderListLayout.addView(progressLabel);
-                
-                for (int i = 0; i < Math.min(5, communityTopProgress.size()); i++) {
-                    CommunitySave save = communityTopProgress.get(i);
-                    LinearLayout saveCard = createCommunitySaveCard(save, i + 1, "progress");
-                    folderListLayout.addView(saveCard);
-                }
+            rows.add(FolderRow.message("No community saves available yet"));
+            return;
+        }
+
+        // Add top progress saves
+        if (!communityTopProgress.isEmpty()) {
+            rows.add(FolderRow.header("🏆 Top Progress", 14, 0xFFFF6B35, 8, 0, 8));
+            for (int i = 0; i < communityTopProgress.size(); i++) {
+                rows.add(FolderRow.community(communityTopProgress.get(i), i + 1, "progress"));
             }
-            
-            // Add top liked saves
-            if (!communityTopLiked.isEmpty()) {
-                TextView likedLabel = new TextView(this);
-                likedLabel.setText("❤️ Most Loved");
-                likedLabel.setTextSize(14);
-                likedLabel.setTextColor(0xFFE91E63);
-                likedLabel.setTypeface(null, android.graphics.Typeface.BOLD);
-                likedLabel.setPadding(8, 8, 0, 8);
-                folderListLayout.addView(likedLabel);
-                
-                for (int i = 0; i < Math.min(5, communityTopLiked.size()); i++) {
-                    CommunitySave save = communityTopLiked.get(i);
-                    LinearLayout saveCard = createCommunitySaveCard(save, i + 1, "liked");
-                    folderListLayout.addView(saveCard);
-                }
+        }
+
+        // Add top liked saves
+        if (!communityTopLiked.isEmpty()) {
+            rows.add(FolderRow.header("❤️ Most Loved", 14, 0xFFE91E63, 8, 8, 8));
+            for (int i = 0; i < communityTopLiked.size(); i++) {
+                rows.add(FolderRow.community(communityTopLiked.get(i), i + 1, "liked"));
             }
         }
-        
-        // Spacer
-        android.view.View spacer = new android.view.View(this);
-        LinearLayout.LayoutParams spacerParams = new LinearLayout.LayoutParams(
-            LinearLayout.LayoutParams.MATCH_PARENT, 24);
-        spacer.setLayoutParams(spacerParams);
-        folderListLayout.addView(spacer);
+    }
+
+    // Asks for the next page of a card's list once the card is within
+    // PREFETCH_DISTANCE of the end, so the page is there before the user is
+    private void prefetchCommunityPage(FolderRow row) {
+        boolean progress = row.category.equals("progress");
+        String cursor = progress ? communityProgressCursor : communityLikedCursor;
+        int size = progress ? communityTopProgress.size() : communityTopLiked.size();
+        if (cursor == null || row.rank < size - PREFETCH_DISTANCE) return;
+        
+        String gameId = extractPackageName(selectedGame);
+        String category = row.category;
+        String key = "community:" + gameId + ":" + category + ":" + cursor;
+        if (!requestedPages.add(key)) return;
+        
+        TaskExecutor.Token token = gameToken;
+        tasks.execute(TaskExecutor.PRIORITY_LISTING, token, () -> {
+            try {
+                long fetchedAt = System.currentTimeMillis();
+                Page<CommunitySave> page = apiClient.communitySavesPage(gameId, category, cursor, COMMUNITY_PAGE_SIZE,
+                    this::readCommunityPage);
+                if (page == null) {
+                    throw new java.io.IOException("Community page not available");
+                }
+                if (page.fresh) {
+                    indexOwnComments(page.items, fetchedAt);
+                }
+                runOnUi(() -> appendCommunityPage(gameId, category, cursor, page));
+            } catch (Exception e) {
+                android.util.Log.w("CloudSave", "Community page failed: " + e.getMessage());
+                // The next bind near the end tries again
+                runOnUi(() -> {
+                    if (!token.isCancelled()) {
+                        requestedPages.remove(key);
+                    }
+                });
+            }
+        });
+    }
+    
+    // Page requests of a cancelled gameToken never report back, so their
+    // bookkeeping goes with the token
+    private void resetPaging() {
+        requestedPages.clear();
+        prefetchedComments.clear();
+        shownComments.clear();
     }
     
-    private void addUserBackupsSection() {
-        // User backups header
-        TextView backupsHeader = new TextView(this);
-        backupsHeader.setText("📁 YOUR BACKUPS");
-        backupsHeader.setTextSize(16);
-        backupsHeader.setTextColor(0xFF1B365D);
-        backupsHeader.setTypeface(null, android.graphics.Typeface.BOLD);
-        backupsHeader.setPadding(0, 0, 0, 12);
-        folderListLayout.addView(backupsHeader);
+    private void appendCommunityPage(String gameId, String category, String cursor, Page<CommunitySave> page) {
+        if (!showingFolders || !gameId.equals(extractPackageName(selectedGame))) return;
+        boolean progress = category.equals("progress");
+        // The lists were reloaded meanwhile and start over at the first page
+        if (!cursor.equals(progress ? communityProgressCursor : communityLikedCursor)) return;
         
-        if (uploadedFolders.isEmpty()) {
+        List<CommunitySave> merged = new ArrayList<>(progress ? communityTopProgress : communityTopLiked);
+        java.util.Set<String> known = new java.util.HashSet<>();
+        for (CommunitySave save : merged) {
+            known.add(save.saveId);
+        }
+        for (CommunitySave save : page.items) {
+            // Rankings can shift between two pages
+            if (known.add(save.saveId)) {
+                merged.add(save);
+            }
+        }
+        applyCommunity(gameId, progress
+            ? new CommunityLists(merged, communityTopLiked, page.nextCursor, communityLikedCursor)
+            : new CommunityLists(communityTopProgress, merged, communityProgressCursor, page.nextCursor));
+    }
+
+    private void addUserBackupRows(java.util.List<FolderRow> rows) {
+        // User backups header, the top padding separates it from the community section
+        rows.add(FolderRow.header("📁 YOUR BACKUPS", 16, 0xFF1B365D, 0, 24, 12));
+
+        BackupRegistry registry = backups;
+        if (registry.isEmpty()) {
+            rows.add(FolderRow.message("No backups found\n\nUpload some saves first to see them here"));
+            return;
+        }
+        for (int index = 0; index < registry.size(); index++) {
+            rows.add(FolderRow.backup(registry.get(index)));
+        }
+    }
+
+    // Rows sit inside the list the way the cards used to sit inside the content card
+    private LinearLayout createRowWrapper() {
+        LinearLayout wrapper = new LinearLayout(this);
+        wrapper.setOrientation(LinearLayout.VERTICAL);
+        wrapper.setPadding(FOLDER_ROW_INSET, 0, FOLDER_ROW_INSET, 0);
+        return wrapper;
+    }
+
+    private android.view.View bindHeaderRow(FolderRow row, android.view.View convertView) {
+        HeaderHolder holder;
+        if (convertView == null) {
+            LinearLayout wrapper = createRowWrapper();
+            holder = new HeaderHolder();
+            holder.text = new TextView(this);
+            holder.text.setTypeface(null, android.graphics.Typeface.BOLD);
+            wrapper.addView(holder.text);
+            wrapper.setTag(holder);
+            convertView = wrapper;
+        } else {
+            holder = (HeaderHolder) convertView.getTag();
+        }
+
+        holder.text.setText(row.text);
+        holder.text.setTextSize(row.textSize);
+        holder.text.setTextColor(row.textColor);
+        holder.text.setPadding(row.paddingLeft, row.paddingTop, 0, row.paddingBottom);
+        return convertView;
+    }
+
+    private android.view.View bindMessageRow(FolderRow row, android.view.View convertView) {
+        MessageHolder holder;
+        if (convertView == null) {
+            LinearLayout wrapper = createRowWrapper();
+
             LinearLayout emptyCard = new LinearLayout(this);
             emptyCard.setOrientation(LinearLayout.VERTICAL);
             android.graphics.drawable.GradientDrawable emptyBg = new android.graphics.drawable.GradientDrawable();
@@ -1042,422 +1167,510 @@ public class DownloadSaveActivity extends Activity {
             emptyCard.setPadding(16, 16, 16, 16);
             LinearLayout.LayoutParams emptyParams = new LinearLayout.LayoutParams(
                 LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+            emptyParams.setMargins(0, 0, 0, 16);
             emptyCard.setLayoutParams(emptyParams);
-            
-            TextView noBackups = new TextView(this);
-            noBackups.setText("No backups found\n\nUpload some saves first to see them here");
-            noBackups.setTextColor(0xFF6C757D);
-            noBackups.setTextSize(14);
-            noBackups.setGravity(android.view.Gravity.CENTER);
-            emptyCard.addView(noBackups);
-            
-            folderListLayout.addView(emptyCard);
+
+            holder = new MessageHolder();
+            holder.text = new TextView(this);
+            holder.text.setTextColor(0xFF6C757D);
+            holder.text.setTextSize(14);
+            holder.text.setGravity(android.view.Gravity.CENTER);
+            emptyCard.addView(holder.text);
+
+            wrapper.addView(emptyCard);
+            wrapper.setTag(holder);
+            convertView = wrapper;
         } else {
-            addUserBackupCards();
+            holder = (MessageHolder) convertView.getTag();
         }
+
+        holder.text.setText(row.text);
+        return convertView;
     }
-    
-    private void addUserBackupCards() {
-        for (int index = 0; index < uploadedFolders.size(); index++) {
-            String folderName = uploadedFolders.get(index);
-            float progress = index < folderProgress.size() ? folderProgress.get(index) : 0.0f;
-            String timestamp = folderName.substring(folderName.lastIndexOf("_") + 1);
-            
-            // Check if this backup is in top 10 community saves
-            boolean isTop10 = index < folderTop10Status.size() ? folderTop10Status.get(index) : false;
-            boolean isShared = index < folderSharedStatus.size() ? folderSharedStatus.get(index) : false;
-            int daysRemaining = index < folderDaysRemaining.size() ? folderDaysRemaining.get(index) : -1;
-            boolean isExpired = index < folderExpiredStatus.size() ? folderExpiredStatus.get(index) : false;
-            
-            LinearLayout folderCard = new LinearLayout(this);
-            folderCard.setOrientation(LinearLayout.VERTICAL);
-            android.graphics.drawable.GradientDrawable folderBg = new android.graphics.drawable.GradientDrawable();
-            if (isTop10) {
-                folderBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFFFFD700, 0xFFFFA500});
-            } else {
-                folderBg.setColor(0xFFFFFFFF);
-            }
-            folderBg.setCornerRadius(8);
-            folderBg.setStroke(isTop10 ? 2 : 1, isTop10 ? 0xFFFFD700 : 0xFF1B365D);
-            folderCard.setBackground(folderBg);
-            folderCard.setElevation(isTop10 ? 8 : 2);
-            folderCard.setPadding(16, 16, 16, 16);
-            LinearLayout.LayoutParams cardParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            cardParams.setMargins(0, 0, 0, 8);
-            folderCard.setLayoutParams(cardParams);
-            
-            // Header with icon and date
-            LinearLayout headerRow = new LinearLayout(this);
-            headerRow.setOrientation(LinearLayout.HORIZONTAL);
-            
-            TextView backupIcon = new TextView(this);
-            backupIcon.setText(isTop10 ? "🏆" : "📁");
-            backupIcon.setTextSize(18);
-            backupIcon.setPadding(0, 0, 8, 0);
-            headerRow.addView(backupIcon);
-            
-            TextView dateText = new TextView(this);
-            // Display custom name if available, otherwise show folder name
-            String displayText = folderName;
-            if (folderName.contains(" - ")) {
-                // Already formatted with custom name + date
-                displayText = folderName;
-            } else {
-                try {
-                    long ts = Long.parseLong(timestamp);
-                    java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("MMM dd, yyyy HH:mm");
-                    String date = sdf.format(new java.util.Date(ts * 1000));
-                    displayText = "Backup from " + date;
-                } catch (Exception e) {
-                    displayText = folderName;
-                }
-            }
-            dateText.setText(displayText);
-            
-            // Add expiration status
-            if (daysRemaining >= 0 && !isTop10) {
-                TextView expirationText = new TextView(this);
-                if (isExpired) {
-                    expirationText.setText("⚠️ EXPIRED - Refresh needed");
-                    expirationText.setTextColor(0xFFFF0000);
-                } else if (daysRemaining <= 3) {
-                    expirationText.setText("⚠️ Expires in " + daysRemaining + " days");
-                    expirationText.setTextColor(0xFFFF6600);
-                } else {
-                    expirationText.setText("📅 Expires in " + daysRemaining + " days");
-                    expirationText.setTextColor(0xFF666666);
-                }
-                expirationText.setTextSize(10);
-                expirationText.setPadding(0, 4, 0, 0);
-                headerRow.addView(expirationText);
-            } else if (isTop10) {
-                TextView premiumText = new TextView(this);
-                premiumText.setText("♾️ Never expires (Top 10)");
-                premiumText.setTextColor(0xFF00AA00);
-                premiumText.setTextSize(10);
-                premiumText.setPadding(0, 4, 0, 0);
-                headerRow.addView(premiumText);
-            }
-            dateText.setTextColor(isTop10 ? 0xFF8B4513 : 0xFF1B365D);
-            dateText.setTextSize(14);
-            dateText.setTypeface(null, android.graphics.Typeface.BOLD);
-            LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(
-                0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-            dateText.setLayoutParams(textParams);
-            headerRow.addView(dateText);
-            
-            folderCard.addView(headerRow);
-            
-            // Top 10 celebration message with rank
-            if (isTop10) {
-                TextView celebrationMsg = new TextView(this);
-                
-                String message = "🎉 🏆 You're in TOP 10! 🌟\n🔒 This save is PROTECTED & FREE! Can't be deleted! 🎆";
-                
-                celebrationMsg.setText(message);
-                celebrationMsg.setTextSize(11);
-                celebrationMsg.setTextColor(0xFF8B4513);
-                celebrationMsg.setTypeface(null, android.graphics.Typeface.BOLD);
-                celebrationMsg.setPadding(8, 8, 8, 8);
-                android.graphics.drawable.GradientDrawable msgBg = new android.graphics.drawable.GradientDrawable();
-                msgBg.setColor(0x33FFD700);
-                msgBg.setCornerRadius(8);
-                celebrationMsg.setBackground(msgBg);
-                folderCard.addView(celebrationMsg);
-            }
-            
-            // Progress display
-            LinearLayout progressRow = new LinearLayout(this);
-            progressRow.setOrientation(LinearLayout.HORIZONTAL);
-            progressRow.setPadding(0, 8, 0, 0);
-            
-            TextView progressIcon = new TextView(this);
-            progressIcon.setText("📊");
-            progressIcon.setTextSize(14);
-            progressIcon.setPadding(0, 0, 8, 0);
-            progressRow.addView(progressIcon);
-            
-            TextView progressText = new TextView(this);
-            progressText.setText("Game Progress: " + progress + "%");
-            progressText.setTextColor(0xFF6C757D);
-            progressText.setTextSize(12);
-            progressText.setTypeface(null, android.graphics.Typeface.BOLD);
-            progressRow.addView(progressText);
-            
-            android.widget.ProgressBar progressBar = new android.widget.ProgressBar(this, null, android.R.attr.progressBarStyleHorizontal);
-            progressBar.setProgress((int) progress);
-            progressBar.setMax(100);
-            LinearLayout.LayoutParams progressBarParams = new LinearLayout.LayoutParams(
-                LinearLayout.LayoutParams.MATCH_PARENT, 20);
-            progressBarParams.setMargins(0, 4, 0, 0);
-            progressBar.setLayoutParams(progressBarParams);
-            
-            folderCard.addView(progressRow);
-            folderCard.addView(progressBar);
-            
-            // Action buttons
-            LinearLayout buttonRow = new LinearLayout(this);
-            buttonRow.setOrientation(LinearLayout.HORIZONTAL);
-            buttonRow.setPadding(0, 8, 0, 0);
-            
-            Button downloadButton = new Button(this);
-            downloadButton.setText("📥 Preview Files");
-            downloadButton.setTextColor(0xFFFFFFFF);
-            android.graphics.drawable.GradientDrawable downloadBg = new android.graphics.drawable.GradientDrawable(
-                android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                new int[]{0xFF1B365D, 0xFF6C757D});
-            downloadBg.setCornerRadius(20);
-            downloadButton.setBackground(downloadBg);
-            downloadButton.setElevation(4);
-            downloadButton.setTextSize(12);
-            downloadButton.setOnClickListener(v -> downloadFolder(folderName));
-            LinearLayout.LayoutParams downloadParams = new LinearLayout.LayoutParams(
-                0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-            downloadParams.setMargins(0, 0, 4, 0);
-            downloadButton.setLayoutParams(downloadParams);
-            
-            // Action buttons based on sharing and top10 status
-            if (isShared && isTop10) {
-                // Shared + Top 10: Only celebrate button
-                Button actionButton = new Button(this);
-                actionButton.setText("🎉 Celebrate");
-                actionButton.setTextColor(0xFFFFFFFF);
-                android.graphics.drawable.GradientDrawable happyBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFFFF6B35, 0xFFFF1493});
-                happyBg.setCornerRadius(20);
-                actionButton.setBackground(happyBg);
-                actionButton.setOnClickListener(v -> showMagicalCelebration(timestamp, progress));
-                actionButton.setElevation(4);
-                actionButton.setTextSize(12);
-                LinearLayout.LayoutParams actionParams = new LinearLayout.LayoutParams(
-                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-                actionParams.setMargins(4, 0, 0, 0);
-                actionButton.setLayoutParams(actionParams);
-                buttonRow.addView(actionButton);
-            } else if (isShared) {
-                // Shared but not top 10: Delete + Shared badge
-                Button deleteButton = new Button(this);
-                deleteButton.setText("🗑 Delete");
-                deleteButton.setTextColor(0xFFFFFFFF);
-                android.graphics.drawable.GradientDrawable deleteBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFFFF4444, 0xFFCC0000});
-                deleteBg.setCornerRadius(20);
-                deleteButton.setBackground(deleteBg);
-                deleteButton.setOnClickListener(v -> confirmDeleteBackup(timestamp));
-                deleteButton.setElevation(4);
-                deleteButton.setTextSize(12);
-                LinearLayout.LayoutParams deleteParams = new LinearLayout.LayoutParams(
-                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-                deleteParams.setMargins(4, 0, 0, 0);
-                deleteButton.setLayoutParams(deleteParams);
-                buttonRow.addView(deleteButton);
-            } else {
-                // Private: Delete + Share buttons
-                Button deleteButton = new Button(this);
-                deleteButton.setText("🗑 Delete");
-                deleteButton.setTextColor(0xFFFFFFFF);
-                android.graphics.drawable.GradientDrawable deleteBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFFFF4444, 0xFFCC0000});
-                deleteBg.setCornerRadius(20);
-                deleteButton.setBackground(deleteBg);
-                deleteButton.setOnClickListener(v -> confirmDeleteBackup(timestamp));
-                deleteButton.setElevation(4);
-                deleteButton.setTextSize(10);
-                LinearLayout.LayoutParams deleteParams = new LinearLayout.LayoutParams(
-                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-                deleteParams.setMargins(4, 0, 2, 0);
-                deleteButton.setLayoutParams(deleteParams);
-                
-                Button shareButton = new Button(this);
-                shareButton.setText("🌍 Share");
-                shareButton.setTextColor(0xFFFFFFFF);
-                android.graphics.drawable.GradientDrawable shareBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFF28A745, 0xFF155724});
-                shareBg.setCornerRadius(20);
-                shareButton.setBackground(shareBg);
-                shareButton.setOnClickListener(v -> shareBackupWithCommunity(timestamp));
-                shareButton.setElevation(4);
-                shareButton.setTextSize(10);
-                LinearLayout.LayoutParams shareParams = new LinearLayout.LayoutParams(
-                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-                shareParams.setMargins(2, 0, 0, 0);
-                shareButton.setLayoutParams(shareParams);
-                
-                Button refreshButton = new Button(this);
-                refreshButton.setText("🔄 Refresh");
-                refreshButton.setTextColor(0xFFFFFFFF);
-                android.graphics.drawable.GradientDrawable refreshBg = new android.graphics.drawable.GradientDrawable(
-                    android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
-                    new int[]{0xFF007BFF, 0xFF0056CC});
-                refreshBg.setCornerRadius(20);
-                refreshButton.setBackground(refreshBg);
-                refreshButton.setOnClickListener(v -> showRefreshAdDialog(timestamp));
-                refreshButton.setElevation(4);
-                refreshButton.setTextSize(9);
-                LinearLayout.LayoutParams refreshParams = new LinearLayout.LayoutParams(
-                    0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
-                refreshParams.setMargins(2, 0, 2, 0);
-                refreshButton.setLayoutParams(refreshParams);
-                
-                buttonRow.addView(deleteButton);
-                buttonRow.addView(refreshButton);
-                buttonRow.addView(shareButton);
-            }
-            // Download button is always first
-            buttonRow.addView(downloadButton);
-            folderCard.addView(buttonRow);
-            
-            folderListLayout.addView(folderCard);
+
+    private android.view.View bindBackupRow(FolderRow row, android.view.View convertView) {
+        BackupCardHolder holder;
+        if (convertView == null) {
+            holder = createBackupCard();
+            LinearLayout wrapper = createRowWrapper();
+            wrapper.addView(holder.card);
+            wrapper.setTag(holder);
+            convertView = wrapper;
+        } else {
+            holder = (BackupCardHolder) convertView.getTag();
         }
+        bindBackupCard(holder, row.backup);
+        return convertView;
     }
-    
-    private LinearLayout createCommunitySaveCard(CommunitySave save, int rank, String category) {
-        LinearLayout card = new LinearLayout(this);
-        card.setOrientation(LinearLayout.VERTICAL);
-        card.setTag("collapsed"); // Track expansion state
-        
-        android.graphics.drawable.GradientDrawable cardBg = new android.graphics.drawable.GradientDrawable(
-            android.graphics.drawable.GradientDrawable.Orientation.LEFT_RIGHT,
-            "progress".equals(category) ? 
-                new int[]{0xFFFF6B35, 0xFFF7931E} : 
-                new int[]{0xFFE91E63, 0xFFAD1457});
-        cardBg.setCornerRadius(12);
-        card.setBackground(cardBg);
-        card.setElevation(4);
-        card.setPadding(16, 12, 16, 12);
-        
+
+    private BackupCardHolder createBackupCard() {
+        BackupCardHolder holder = new BackupCardHolder();
+
+        LinearLayout folderCard = new LinearLayout(this);
+        folderCard.setOrientation(LinearLayout.VERTICAL);
+        folderCard.setPadding(16, 16, 16, 16);
         LinearLayout.LayoutParams cardParams = new LinearLayout.LayoutParams(
             LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
         cardParams.setMargins(0, 0, 0, 8);
-        card.setLayoutParams(cardParams);
-        
-        // Header row with profile image
+        folderCard.setLayoutParams(cardParams);
+        holder.card = folderCard;
+
+        // Header with icon and date
         LinearLayout headerRow = new LinearLayout(this);
         headerRow.setOrientation(LinearLayout.HORIZONTAL);
-        headerRow.setGravity(android.view.Gravity.CENTER_VERTICAL);
-        
-        TextView rankText = new TextView(this);
-        String rankEmoji = "progress".equals(category) ? getRankEmoji(rank) : "❤️";
-        rankText.setText(rankEmoji + " #" + rank);
-        rankText.setTextSize(14);
-        rankText.setTextColor(0xFFFFFFFF);
-        rankText.setTypeface(null, android.graphics.Typeface.BOLD);
-        headerRow.addView(rankText);
-        
-        android.view.View spacer = new android.view.View(this);
-        LinearLayout.LayoutParams spacerParams = new LinearLayout.LayoutParams(0, 0);
-        spacerParams.weight = 1;
-        spacer.setLayoutParams(spacerParams);
-        headerRow.addView(spacer);
-        
-        // Profile image
-        ImageView profileImage = new ImageView(this);
-        LinearLayout.LayoutParams imgParams = new LinearLayout.LayoutParams(40, 40);
-        imgParams.setMargins(0, 0, 8, 0);
-        profileImage.setLayoutParams(imgParams);
-        loadProfileImage(profileImage, save.profileImage);
-        headerRow.addView(profileImage);
-        
-        TextView playerText = new TextView(this);
-        // Check if this is user's own save
-        boolean isOwnSave = false;
-        try {
-            // Compare user IDs - if save.userId matches current user's ID, it's their own save
-            if (currentUserId != null && save.userId != null && save.userId.equals(currentUserId)) {
-                isOwnSave = true;
+
+        holder.backupIcon = new TextView(this);
+        holder.backupIcon.setTextSize(18);
+        holder.backupIcon.setPadding(0, 0, 8, 0);
+        headerRow.addView(holder.backupIcon);
+
+        // Expiration status, or the never-expires note for top 10 saves
+        holder.statusText = new TextView(this);
+        holder.statusText.setTextSize(10);
+        holder.statusText.setPadding(0, 4, 0, 0);
+        headerRow.addView(holder.statusText);
+
+        holder.dateText = new TextView(this);
+        holder.dateText.setTextSize(14);
+        holder.dateText.setTypeface(null, android.graphics.Typeface.BOLD);
+        LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(
+            0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
+        holder.dateText.setLayoutParams(textParams);
+        headerRow.addView(holder.dateText);
+
+        folderCard.addView(headerRow);
+
+        // Top 10 celebration message
+        holder.celebrationMsg = new TextView(this);
+        holder.celebrationMsg.setText("🎉 🏆 You're in TOP 10! 🌟\n🔒 This save is PROTECTED & FREE! Can't be deleted! 🎆");
+        holder.celebrationMsg.setTextSize(11);
+        holder.celebrationMsg.setTextColor(0xFF8B4513);
+        holder.celebrationMsg.setTypeface(null, android.graphics.Typeface.BOLD);
+        holder.celebrationMsg.setPadding(8, 8, 8, 8);
+        android.graphics.drawable.GradientDrawable msgBg = new android.graphics.drawable.GradientDrawable();
+        msgBg.setColor(0x33FFD700);
+        msgBg.setCornerRadius(8);
+        holder.celebrationMsg.setBackground(msgBg);
+        folderCard.addView(holder.celebrationMsg);
+
+        // Progress display
+        LinearLayout progressRow = new LinearLayout(this);
+        progressRow.setOrientation(LinearLayout.HORIZONTAL);
+        progressRow.setPadding(0, 8, 0, 0);
+
+        TextView progressIcon = new TextView(this);
+        progressIcon.setText("📊");
+        progressIcon.setTextSize(14);
+        progressIcon.setPadding(0, 0, 8, 0);
+        progressRow.addView(progressIcon);
+
+        holder.progressText = new TextView(this);
+        holder.progressText.setTextColor(0xFF6C757D);
+        holder.progressText.setTextSize(12);
+        holder.progressText.setTypeface(null, android.graphics.Typeface.BOLD);
+        progressRow.addView(holder.progressText);
+
+        holder.progressBar = new android.widget.ProgressBar(this, null, android.R.attr.progressBarStyleHorizontal);
+        holder.progressBar.setMax(100);
+        LinearLayout.LayoutParams progressBarParams = new LinearLayout.LayoutParams(
+            LinearLayout.LayoutParams.MATCH_PARENT, 20);
+        progressBarParams.setMargins(0, 4, 0, 0);
+        holder.progressBar.setLayoutParams(progressBarParams);
+
+        folderCard.addView(progressRow);
+        folderCard.addView(holder.progressBar);
+
+        // Action buttons, shown according to sharing and top 10 status
+        LinearLayout buttonRow = new LinearLayout(this);
+        buttonRow.setOrientation(LinearLayout.HORIZONTAL);
+        buttonRow.setPadding(0, 8, 0, 0);
+
+        holder.celebrateButton = createBackupButton("🎉 Celebrate", 0xFFFF6B35, 0xFFFF1493, 12);
+        holder.celebrateButton.setOnClickListener(v ->
+            showMagicalCelebration(holder.entry.folderTimestamp, holder.entry.progress));
+        setButtonMargins(holder.celebrateButton, 4, 0);
+        buttonRow.addView(holder.celebrateButton);
+
+        holder.deleteButton = createBackupButton("🗑 Delete", 0xFFFF4444, 0xFFCC0000, 12);
+        holder.deleteButton.setOnClickListener(v -> confirmDeleteBackup(holder.entry.folderTimestamp));
+        buttonRow.addView(holder.deleteButton);
+
+        holder.refreshButton = createBackupButton("🔄 Refresh", 0xFF007BFF, 0xFF0056CC, 9);
+        holder.refreshButton.setOnClickListener(v -> showRefreshAdDialog(holder.entry.folderTimestamp));
+        setButtonMargins(holder.refreshButton, 2, 2);
+        buttonRow.addView(holder.refreshButton);
+
+        holder.shareButton = createBackupButton("🌍 Share", 0xFF28A745, 0xFF155724, 10);
+        holder.shareButton.setOnClickListener(v -> shareBackupWithCommunity(holder.entry.folderTimestamp));
+        setButtonMargins(holder.shareButton, 2, 0);
+        buttonRow.addView(holder.shareButton);
+
+        holder.downloadButton = createBackupButton("📥 Preview Files", 0xFF1B365D, 0xFF6C757D, 12);
+        holder.downloadButton.setOnClickListener(v -> loadCloudFilesPreview(holder.entry.folderTimestamp));
+        setButtonMargins(holder.downloadButton, 0, 4);
+        buttonRow.addView(holder.downloadButton);
+
+        folderCard.addView(buttonRow);
+        return holder;
+    }
+
+    private Button createBackupButton(String text, int topColor, int bottomColor, int textSize) {
+        Button button = new Button(this);
+        button.setText(text);
+        button.setTextColor(0xFFFFFFFF);
+        android.graphics.drawable.GradientDrawable bg = new android.graphics.drawable.GradientDrawable(
+            android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
+            new int[]{topColor, bottomColor});
+        bg.setCornerRadius(20);
+        button.setBackground(bg);
+        button.setElevation(4);
+        button.setTextSize(textSize);
+        return button;
+    }
+
+    private void setButtonMargins(Button button, int left, int right) {
+        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+            0, LinearLayout.LayoutParams.WRAP_CONTENT, 1);
+        params.setMargins(left, 0, right, 0);
+        button.setLayoutParams(params);
+    }
+
+    private void bindBackupCard(BackupCardHolder holder, BackupEntry entry) {
+        holder.entry = entry;
+        boolean isTop10 = entry.isTop10;
+        boolean isShared = entry.isShared;
+
+        android.graphics.drawable.GradientDrawable folderBg;
+        if (isTop10) {
+            folderBg = new android.graphics.drawable.GradientDrawable(
+                android.graphics.drawable.GradientDrawable.Orientation.TOP_BOTTOM,
+                new int[]{0xFFFFD700, 0xFFFFA500});
+        } else {
+            folderBg = new android.graphics.drawable.GradientDrawable();
+            folderBg.setColor(0xFFFFFFFF);
+        }
+        folderBg.setCornerRadius(8);
+        folderBg.setStroke(isTop10 ? 2 : 1, isTop10 ? 0xFFFFD700 : 0xFF1B365D);
+        holder.card.setBackground(folderBg);
+        holder.card.setElevation(isTop10 ? 8 : 2);
+
+        holder.backupIcon.setText(isTop10 ? "🏆" : "📁");
+        holder.dateText.setText(entry.displayName);
+        holder.dateText.setTextColor(isTop10 ? 0xFF8B4513 : 0xFF1B365D);
+
+        // Add expiration status
+        if (isTop10) {
+            holder.statusText.setVisibility(android.view.View.VISIBLE);
+            holder.statusText.setText("♾️ Never expires (Top 10)");
+            holder.statusText.setTextColor(0xFF00AA00);
+        } else if (entry.daysRemaining >= 0) {
+            holder.statusText.setVisibility(android.view.View.VISIBLE);
+            if (entry.isExpired) {
+                holder.statusText.setText("⚠️ EXPIRED - Refresh needed");
+                holder.statusText.setTextColor(0xFFFF0000);
+            } else if (entry.daysRemaining <= 3) {
+                holder.statusText.setText("⚠️ Expires in " + entry.daysRemaining + " days");
+                holder.statusText.setTextColor(0xFFFF6600);
+            } else {
+                holder.statusText.setText("📅 Expires in " + entry.daysRemaining + " days");
+                holder.statusText.setTextColor(0xFF666666);
             }
-        } catch (Exception e) {}
-        
+        } else {
+            holder.statusText.setVisibility(android.view.View.GONE);
+        }
+
+        holder.celebrationMsg.setVisibility(isTop10 ? android.view.View.VISIBLE : android.view.View.GONE);
+        holder.progressText.setText("Game Progress: " + entry.progress + "%");
+        holder.progressBar.setProgress((int) entry.progress);
+
+        // Shared + Top 10: only celebrate. Shared: delete. Private: delete, refresh and share
+        holder.celebrateButton.setVisibility(isShared && isTop10 ? android.view.View.VISIBLE : android.view.View.GONE);
+        holder.deleteButton.setVisibility(isShared && isTop10 ? android.view.View.GONE : android.view.View.VISIBLE);
+        holder.refreshButton.setVisibility(isShared ? android.view.View.GONE : android.view.View.VISIBLE);
+        holder.shareButton.setVisibility(isShared ? android.view.View.GONE : android.view.View.VISIBLE);
+        holder.deleteButton.setTextSize(isShared ? 12 : 10);
+        setButtonMargins(holder.deleteButton, 4, isShared ? 0 : 2);
+    }
+
+    private android.view.View bindCommunityRow(FolderRow row, android.view.View convertView) {
+        CommunityCardHolder holder;
+        if (convertView == null) {
+            holder = createCommunitySaveCard();
+            LinearLayout wrapper = createRowWrapper();
+            wrapper.addView(holder.card);
+            wrapper.setTag(holder);
+            convertView = wrapper;
+        } else {
+            holder = (CommunityCardHolder) convertView.getTag();
+        }
+        bindCommunitySaveCard(holder, row.save, row.rank, row.category);
+        return convertView;
+    }
+
+    private CommunityCardHolder createCommunitySaveCard() {
+        CommunityCardHolder holder = new CommunityCardHolder();
+
+        LinearLayout card = new LinearLayout(this);
+        card.setOrientation(LinearLayout.VERTICAL);
+        card.setElevation(4);
+        card.setPadding(16, 12, 16, 12);
+        LinearLayout.LayoutParams cardParams = new LinearLayout.LayoutParams(
+            LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+        cardParams.setMargins(0, 0, 0, 8);
+        card.setLayoutParams(cardParams);
+        holder.card = card;
+
+        holder.progressBg = new android.graphics.drawable.GradientDrawable(
+            android.graphics.drawable.GradientDrawable.Orientation.LEFT_RIGHT,
+            new int[]{0xFFFF6B35, 0xFFF7931E});
+        holder.progressBg.setCornerRadius(12);
+        holder.likedBg = new android.graphics.drawable.GradientDrawable(
+            android.graphics.drawable.GradientDrawable.Orientation.LEFT_RIGHT,
+            new int[]{0xFFE91E63, 0xFFAD1457});
+        holder.likedBg.setCornerRadius(12);
+
+        // Header row with profile image
+        LinearLayout headerRow = new LinearLayout(this);
+        headerRow.setOrientation(LinearLayout.HORIZONTAL);
+        headerRow.setGravity(android.view.Gravity.CENTER_VERTICAL);
+
+        holder.rankText = new TextView(this);
+        holder.rankText.setTextSize(14);
+        holder.rankText.setTextColor(0xFFFFFFFF);
+        holder.rankText.setTypeface(null, android.graphics.Typeface.BOLD);
+        headerRow.addView(holder.rankText);
+
+        android.view.View spacer = new android.view.View(this);
+        LinearLayout.LayoutParams spacerParams = new LinearLayout.LayoutParams(0, 0);
+        spacerParams.weight = 1;
+        spacer.setLayoutParams(spacerParams);
+        headerRow.addView(spacer);
+
+        // Profile image
+        holder.profileImage = new ImageView(this);
+        LinearLayout.LayoutParams imgParams = new LinearLayout.LayoutParams(40, 40);
+        imgParams.setMargins(0, 0, 8, 0);
+        holder.profileImage.setLayoutParams(imgParams);
+        headerRow.addView(holder.profileImage);
+
+        holder.playerText = new TextView(this);
+        holder.playerText.setTextSize(12);
+        holder.playerText.setTypeface(null, android.graphics.Typeface.BOLD);
+        headerRow.addView(holder.playerText);
+
+        card.addView(headerRow);
+
+        // Stats row
+        LinearLayout statsRow = new LinearLayout(this);
+        statsRow.setOrientation(LinearLayout.HORIZONTAL);
+        statsRow.setPadding(0, 4, 0, 0);
+
+        holder.progressText = new TextView(this);
+        holder.progressText.setTextSize(11);
+        holder.progressText.setTextColor(0xFFE8F4FD);
+        statsRow.addView(holder.progressText);
+
+        android.view.View statsSpacer = new android.view.View(this);
+        LinearLayout.LayoutParams statsSpacerParams = new LinearLayout.LayoutParams(0, 0);
+        statsSpacerParams.weight = 1;
+        statsSpacer.setLayoutParams(statsSpacerParams);
+        statsRow.addView(statsSpacer);
+
+        holder.likesText = new TextView(this);
+        holder.likesText.setTextSize(11);
+        holder.likesText.setTextColor(0xFFE8F4FD);
+        statsRow.addView(holder.likesText);
+
+        card.addView(statsRow);
+
+        // Recent comment preview
+        holder.commentPreview = new TextView(this);
+        holder.commentPreview.setTextSize(10);
+        holder.commentPreview.setTextColor(0xFFE8F4FD);
+        holder.commentPreview.setPadding(0, 4, 0, 0);
+        card.addView(holder.commentPreview);
+
+        // Expand hint
+        holder.expandHint = new TextView(this);
+        holder.expandHint.setTextSize(9);
+        holder.expandHint.setTextColor(0xFFD1C4E9);
+        holder.expandHint.setTypeface(null, android.graphics.Typeface.ITALIC);
+        holder.expandHint.setPadding(0, 4, 0, 0);
+        holder.expandHint.setGravity(android.view.Gravity.CENTER);
+        card.addView(holder.expandHint);
+
+        // Expanded content
+        holder.expandedContent = new LinearLayout(this);
+        holder.expandedContent.setOrientation(LinearLayout.VERTICAL);
+        card.addView(holder.expandedContent);
+
+        // Click to expand/collapse
+        card.setOnClickListener(v -> toggleCardExpansion(holder));
+
+        return holder;
+    }
+
+    private void bindCommunitySaveCard(CommunityCardHolder holder, CommunitySave save, int rank, String category) {
+        holder.save = save;
+        holder.expansionKey = category + ":" + save.saveId;
+
+        holder.card.setBackground("progress".equals(category) ? holder.progressBg : holder.likedBg);
+
+        String rankEmoji = "progress".equals(category) ? getRankEmoji(rank) : "❤️";
+        holder.rankText.setText(rankEmoji + " #" + rank);
+
+        loadProfileImage(holder.profileImage, save.profileImage, save.profileImageId, save.profileImageUrl, 40);
+
+        // Check if this is user's own save
+        boolean isOwnSave = currentUserId != null && save.userId != null && save.userId.equals(currentUserId);
         if (isOwnSave) {
-            playerText.setText("⭐ YOUR SAVE");
-            playerText.setTextSize(12);
-            playerText.setTextColor(0xFFFFD700);
-            playerText.setTypeface(null, android.graphics.Typeface.BOLD);
+            holder.playerText.setText("⭐ YOUR SAVE");
+            holder.playerText.setTextColor(0xFFFFD700);
             // Add golden background
             android.graphics.drawable.GradientDrawable ownSaveBg = new android.graphics.drawable.GradientDrawable();
             ownSaveBg.setColor(0x33FFD700);
             ownSaveBg.setCornerRadius(8);
-            playerText.setBackground(ownSaveBg);
-            playerText.setPadding(8, 4, 8, 4);
+            holder.playerText.setBackground(ownSaveBg);
+            holder.playerText.setPadding(8, 4, 8, 4);
         } else {
             // Format name with premium status
             String displayName = save.playerName;
             if (save.isPremium) {
                 displayName = "✓ " + save.playerName + " Premium";
             }
-            playerText.setText(displayName);
-            playerText.setTextSize(12);
-            playerText.setTextColor(save.isPremium ? 0xFFFFD700 : 0xFFFFFFFF);
-            playerText.setTypeface(null, android.graphics.Typeface.BOLD);
+            holder.playerText.setText(displayName);
+            holder.playerText.setTextColor(save.isPremium ? 0xFFFFD700 : 0xFFFFFFFF);
+            holder.playerText.setBackground(null);
+            holder.playerText.setPadding(0, 0, 0, 0);
+        }
+
+        holder.progressText.setText("📊 " + save.progress + "%");
+        holder.likesText.setText("👍 " + save.likes + " 👎 " + save.dislikes + " 📥 " + save.downloads);
+
+        if (!save.recentComments.isEmpty()) {
+            CommunitySave.Comment recentComment = save.recentComments.get(0);
+            String commentText = recentComment.comment.length() > 30 ?
+                recentComment.comment.substring(0, 30) + "..." : recentComment.comment;
+            holder.commentPreview.setText("💬 " + recentComment.playerName + ": \"" + commentText + "\"");
+            holder.commentPreview.setVisibility(android.view.View.VISIBLE);
+        } else {
+            holder.commentPreview.setVisibility(android.view.View.GONE);
         }
-        headerRow.addView(playerText);
+
+        bindExpansionState(holder);
+    }
+
+    // The comments, comment box and support buttons are only built once a
+    // card is expanded, and are kept for re-expanding until the card is
+    // recycled (see releaseExpandedContent)
+    private void bindExpansionState(CommunityCardHolder holder) {
+        boolean expanded = expandedCards.contains(holder.expansionKey);
+        if (holder.expandedFor != holder.save) {
+            holder.expandedContent.removeAllViews();
+            holder.expandedFor = null;
+        }
+        if (expanded && holder.expandedFor == null) {
+            holder.expandedContent.addView(createExpandedContent(holder.save));
+            holder.expandedFor = holder.save;
+        }
+        holder.expandedContent.setVisibility(expanded ? LinearLayout.VISIBLE : LinearLayout.GONE);
+        holder.expandHint.setText(expanded ? "👆 Tap to collapse" : "👆 Tap to expand");
+    }
+    
+    // Collapsed cards drop their expanded views when they scroll off screen
+    private void releaseExpandedContent(android.view.View view) {
+        Object tag = view.getTag();
+        if (!(tag instanceof CommunityCardHolder)) return;
+        CommunityCardHolder holder = (CommunityCardHolder) tag;
+        if (holder.expandedFor != null && !expandedCards.contains(holder.expansionKey)) {
+            holder.expandedContent.removeAllViews();
+            holder.expandedFor = null;
+        }
+    }
+    
+    private class FolderListAdapter extends android.widget.BaseAdapter {
+        private java.util.List<FolderRow> rows = new ArrayList<>();
         
-        card.addView(headerRow);
+        // Rows whose content did not change keep their views. When only
+        // contents changed, just the affected rows on screen are rebound.
+        void setRows(java.util.List<FolderRow> newRows) {
+            java.util.List<FolderRow> oldRows = rows;
+            rows = newRows;
+            if (oldRows.size() != newRows.size()) {
+                notifyDataSetChanged();
+                return;
+            }
+            for (int i = 0; i < newRows.size(); i++) {
+                if (oldRows.get(i).type != newRows.get(i).type) {
+                    notifyDataSetChanged();
+                    return;
+                }
+            }
+            
+            int first = folderListView.getFirstVisiblePosition() - folderListView.getHeaderViewsCount();
+            for (int i = 0; i < folderListView.getChildCount(); i++) {
+                int position = first + i;
+                if (position < 0 || position >= newRows.size()) continue;
+                if (!newRows.get(position).sameContent(oldRows.get(position))) {
+                    getView(position, folderListView.getChildAt(i), folderListView);
+                }
+            }
+        }
         
-        // Stats row
-        LinearLayout statsRow = new LinearLayout(this);
-        statsRow.setOrientation(LinearLayout.HORIZONTAL);
-        statsRow.setPadding(0, 4, 0, 0);
+        void clear() {
+            setRows(new ArrayList<>());
+        }
         
-        TextView progressText = new TextView(this);
-        progressText.setText("📊 " + save.progress + "%");
-        progressText.setTextSize(11);
-        progressText.setTextColor(0xFFE8F4FD);
-        statsRow.addView(progressText);
+        @Override
+        public int getCount() {
+            return rows.size();
+        }
         
-        android.view.View statsSpacer = new android.view.View(this);
-        LinearLayout.LayoutParams statsSpacerParams = new LinearLayout.LayoutParams(0, 0);
-        statsSpacerParams.weight = 1;
-        statsSpacer.setLayoutParams(statsSpacerParams);
-        statsRow.addView(statsSpacer);
+        @Override
+        public FolderRow getItem(int position) {
+            return rows.get(position);
+        }
         
-        TextView likesText = new TextView(this);
-        likesText.setText("👍 " + save.likes + " 👎 " + save.dislikes + " 📥 " + save.downloads);
-        likesText.setTextSize(11);
-        likesText.setTextColor(0xFFE8F4FD);
-        statsRow.addView(likesText);
+        @Override
+        public long getItemId(int position) {
+            return position;
+        }
         
-        card.addView(statsRow);
+        @Override
+        public int getViewTypeCount() {
+            return ROW_TYPE_COUNT;
+        }
         
-        // Recent comment preview
-        if (!save.recentComments.isEmpty()) {
-            CommunitySave.Comment recentComment = save.recentComments.get(0);
-            TextView commentPreview = new TextView(this);
-            String commentText = recentComment.comment.length() > 30 ? 
-                recentComment.comment.substring(0, 30) + "..." : recentComment.comment;
-            commentPreview.setText("💬 " + recentComment.playerName + ": \"" + commentText + "\"");
-            commentPreview.setTextSize(10);
-            commentPreview.setTextColor(0xFFE8F4FD);
-            commentPreview.setPadding(0, 4, 0, 0);
-            card.addView(commentPreview);
+        @Override
+        public int getItemViewType(int position) {
+            return rows.get(position).type;
         }
         
-        // Expand hint
-        TextView expandHint = new TextView(this);
-        expandHint.setText("👆 Tap to expand");
-        expandHint.setTextSize(9);
-        expandHint.setTextColor(0xFFD1C4E9);
-        expandHint.setTypeface(null, android.graphics.Typeface.ITALIC);
-        expandHint.setPadding(0, 4, 0, 0);
-        expandHint.setGravity(android.view.Gravity.CENTER);
-        card.addView(expandHint);
-        
-        // Expanded content (initially hidden)
-        LinearLayout expandedContent = createExpandedContent(save);
-        expandedContent.setVisibility(LinearLayout.GONE);
-        card.addView(expandedContent);
+        @Override
+        public boolean areAllItemsEnabled() {
+            return false;
+        }
         
-        // Click to expand/collapse
-        card.setOnClickListener(v -> toggleCardExpansion(card, expandHint, expandedContent));
+        @Override
+        public boolean isEnabled(int position) {
+            return false;
+        }
         
-        return card;
+        @Override
+        public android.view.View getView(int position, android.view.View convertView, android.view.ViewGroup parent) {
+            FolderRow row = rows.get(position);
+            switch (row.type) {
+                case ROW_COMMUNITY:
+                    prefetchCommunityPage(row);
+                    return bindCommunityRow(row, convertView);
+                case ROW_BACKUP:
+                    return bindBackupRow(row, convertView);
+                case ROW_MESSAGE:
+                    return bindMessageRow(row, convertView);
+                default:
+                    return bindHeaderRow(row, convertView);
+            }
+        }
     }
     
     private LinearLayout createExpandedContent(CommunitySave save) {
@@ -1490,6 +1703,9 @@ public class DownloadSaveActivity extends Activity {
                 LinearLayout commentRow = createCommentRow(comment, save.saveId);
                 commentsList.addView(commentRow);
             }
+            if (save.commentsCursor != null) {
+                commentsList.addView(createMoreCommentsButton(save));
+            }
         }
         
         expandedLayout.addView(commentsList);
@@ -1571,6 +1787,99 @@ public class DownloadSaveActivity extends Activity {
         return expandedLayout;
     }
     
+    private Button createMoreCommentsButton(CommunitySave save) {
+        Button moreBtn = new Button(this);
+        moreBtn.setText("💬 More comments");
+        moreBtn.setTextSize(10);
+        moreBtn.setBackgroundColor(0x00000000);
+        moreBtn.setTextColor(0xFFD1C4E9);
+        moreBtn.setOnClickListener(v -> {
+            moreBtn.setEnabled(false);
+            moreBtn.setText("⏳ Loading comments...");
+            loadMoreComments(save, moreBtn);
+        });
+        // An expanded card is being read, so its next page is fetched ahead
+        loadMoreComments(save, null);
+        return moreBtn;
+    }
+    
+    // Fetches the save's next comment page. With a button the user asked for
+    // it and it is shown; without, it waits in prefetchedComments. A tap
+    // while the prefetch is running waits for that same request.
+    private void loadMoreComments(CommunitySave save, Button moreBtn) {
+        String gameId = extractPackageName(selectedGame);
+        String cursor = save.commentsCursor;
+        String key = "comments:" + save.saveId + ":" + cursor;
+        if (moreBtn != null) {
+            Page<CommunitySave.Comment> page = prefetchedComments.remove(key);
+            if (page != null) {
+                appendComments(gameId, save.saveId, cursor, page);
+                return;
+            }
+            shownComments.put(key, moreBtn);
+        }
+        if (!requestedPages.add(key)) return;
+        
+        TaskExecutor.Token token = gameToken;
+        tasks.execute(TaskExecutor.PRIORITY_LISTING, token, () -> {
+            try {
+                long fetchedAt = System.currentTimeMillis();
+                Page<CommunitySave.Comment> page = apiClient.commentsPage(save.saveId, cursor, COMMENT_PAGE_SIZE,
+                    this::readCommentPage);
+                if (page == null) {
+                    throw new java.io.IOException("Comment page not available");
+                }
+                if (page.fresh) {
+                    java.util.List<RatingHistoryStore.OwnComment> found = new java.util.ArrayList<>();
+                    collectOwnComments(save.saveId, page.items, found);
+                    RatingHistoryStore.getInstance(this).rememberOwnComments(found, fetchedAt);
+                }
+                runOnUi(() -> {
+                    if (token.isCancelled()) return;
+                    if (shownComments.remove(key) != null) {
+                        appendComments(gameId, save.saveId, cursor, page);
+                    } else {
+                        prefetchedComments.put(key, page);
+                    }
+                });
+            } catch (Exception e) {
+                android.util.Log.w("CloudSave", "Comment page failed: " + e.getMessage());
+                runOnUi(() -> {
+                    if (token.isCancelled()) return;
+                    requestedPages.remove(key);
+                    // The button may belong to a tap that joined a prefetch
+                    Button waiting = shownComments.remove(key);
+                    if (waiting != null) {
+                        waiting.setEnabled(true);
+                        waiting.setText("💬 More comments");
+                        Toast.makeText(this, "Could not load more comments", Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        });
+    }
+    
+    // The save's card rebinds with the longer list and keeps its expansion
+    private void appendComments(String gameId, String saveId, String cursor, Page<CommunitySave.Comment> page) {
+        applyCommunity(gameId, new CommunityLists(
+            withMoreComments(communityTopProgress, saveId, cursor, page),
+            withMoreComments(communityTopLiked, saveId, cursor, page),
+            communityProgressCursor, communityLikedCursor));
+    }
+    
+    private List<CommunitySave> withMoreComments(List<CommunitySave> saves, String saveId, String cursor, Page<CommunitySave.Comment> page) {
+        List<CommunitySave> updated = new ArrayList<>(saves);
+        for (int i = 0; i < updated.size(); i++) {
+            CommunitySave save = updated.get(i);
+            if (!saveId.equals(save.saveId) || !cursor.equals(save.commentsCursor)) continue;
+            CommunitySave longer = save.copy();
+            longer.recentComments.addAll(page.items);
+            longer.commentsCursor = page.nextCursor;
+            updated.set(i, longer);
+        }
+        return updated;
+    }
+    
     private LinearLayout createCommentRow(CommunitySave.Comment comment, String saveId) {
         LinearLayout row = new LinearLayout(this);
         row.setOrientation(LinearLayout.VERTICAL);
@@ -1585,7 +1894,7 @@ public class DownloadSaveActivity extends Activity {
         LinearLayout.LayoutParams commentImgParams = new LinearLayout.LayoutParams(30, 30);
         commentImgParams.setMargins(0, 0, 8, 0);
         commentProfileImage.setLayoutParams(commentImgParams);
-        loadProfileImage(commentProfileImage, comment.profileImage);
+        loadProfileImage(commentProfileImage, comment.profileImage, comment.profileImageId, comment.profileImageUrl, 30);
         headerRow.addView(commentProfileImage);
         
         LinearLayout commentTextLayout = new LinearLayout(this);
@@ -1640,66 +1949,8 @@ public class DownloadSaveActivity extends Activity {
         return row;
     }
     
-    private void loadProfileImage(ImageView imageView, String profileImageBase64) {
-        if (profileImageBase64 != null && !profileImageBase64.isEmpty()) {
-            try {
-                byte[] decodedBytes = android.util.Base64.decode(profileImageBase64, android.util.Base64.DEFAULT);
-                android.graphics.Bitmap bitmap = android.graphics.BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length);
-                
-                if (bitmap != null) {
-                    // Create circular bitmap
-                    android.graphics.Bitmap circularBitmap = createCircularBitmap(bitmap);
-                    imageView.setImageBitmap(circularBitmap);
-                    return;
-                }
-            } catch (Exception e) {
-                // Fall through to default
-            }
-        }
-        
-        // Default avatar
-        createDefaultAvatar(imageView);
-    }
-    
-    private android.graphics.Bitmap createCircularBitmap(android.graphics.Bitmap bitmap) {
-        int size = Math.min(bitmap.getWidth(), bitmap.getHeight());
-        android.graphics.Bitmap output = android.graphics.Bitmap.createBitmap(size, size, android.graphics.Bitmap.Config.ARGB_8888);
-        
-        android.graphics.Canvas canvas = new android.graphics.Canvas(output);
-        android.graphics.Paint paint = new android.graphics.Paint();
-        paint.setAntiAlias(true);
-        
-        canvas.drawCircle(size / 2f, size / 2f, size / 2f, paint);
-        paint.setXfermode(new android.graphics.PorterDuffXfermode(android.graphics.PorterDuff.Mode.SRC_IN));
-        canvas.drawBitmap(bitmap, 0, 0, paint);
-        
-        return output;
-    }
-    
-    private void createDefaultAvatar(ImageView imageView) {
-        int size = 100;
-        android.graphics.Bitmap bitmap = android.graphics.Bitmap.createBitmap(size, size, android.graphics.Bitmap.Config.ARGB_8888);
-        android.graphics.Canvas canvas = new android.graphics.Canvas(bitmap);
-        
-        // Background circle
-        android.graphics.Paint bgPaint = new android.graphics.Paint();
-        bgPaint.setColor(0xFF58a6ff);
-        bgPaint.setAntiAlias(true);
-        canvas.drawCircle(size / 2f, size / 2f, size / 2f, bgPaint);
-        
-        // User icon
-        android.graphics.Paint iconPaint = new android.graphics.Paint();
-        iconPaint.setColor(0xFFFFFFFF);
-        iconPaint.setAntiAlias(true);
-        iconPaint.setTextSize(size * 0.6f);
-        iconPaint.setTextAlign(android.graphics.Paint.Align.CENTER);
-        
-        android.graphics.Rect bounds = new android.graphics.Rect();
-        iconPaint.getTextBounds("👤", 0, 1, bounds);
-        float y = size / 2f + bounds.height() / 2f;
-        canvas.drawText("👤", size / 2f, y, iconPaint);
-        
-        imageView.setImageBitmap(bitmap);
+    private void loadProfileImage(ImageView imageView, String profileImageBase64, String avatarId, String avatarUrl, int sizePx) {
+        AvatarLoader.getInstance(this).load(imageView, profileImageBase64, avatarId, avatarUrl, sizePx);
     }
     
     private LinearLayout createAddCommentSection(String saveId) {
@@ -1760,19 +2011,12 @@ public class DownloadSaveActivity extends Activity {
         return section;
     }
     
-    private void toggleCardExpansion(LinearLayout card, TextView hint, LinearLayout expandedContent) {
-        String state = (String) card.getTag();
-        if ("collapsed".equals(state)) {
-            // Expand
-            expandedContent.setVisibility(LinearLayout.VISIBLE);
-            hint.setText("👆 Tap to collapse");
-            card.setTag("expanded");
-        } else {
-            // Collapse
-            expandedContent.setVisibility(LinearLayout.GONE);
-            hint.setText("👆 Tap to expand");
-            card.setTag("collapsed");
+    private void toggleCardExpansion(CommunityCardHolder holder) {
+        // Expansion lives outside the recycled card so it survives rebinding
+        if (!expandedCards.remove(holder.expansionKey)) {
+            expandedCards.add(holder.expansionKey);
         }
+        bindExpansionState(holder);
     }
     
     private void submitComment(String saveId, String comment, boolean isLike) {
@@ -1791,36 +2035,32 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void checkExistingComment(String saveId, String newComment, boolean newIsLike) {
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/comments?" +
-                    "save_id=" + java.net.URLEncoder.encode(saveId, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8");
+        RatingHistoryStore history = RatingHistoryStore.getInstance(this);
+        tasks.execute(TaskExecutor.PRIORITY_ACTION, gameToken, () -> {
+            // The local index usually knows, then the comment list is not needed
+            RatingHistoryStore.OwnComment known = history.findOwnComment(saveId);
+            if (known != null) {
+                runOnUi(() -> {
+                    if (known.comment != null) {
+                        showUpdateCommentDialog(saveId, known.comment, known.isLike, newComment, newIsLike);
+                    } else {
+                        proceedWithComment(saveId, newComment, newIsLike);
+                    }
+                });
+                return;
+            }
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
+            try {
+                long fetchedAt = System.currentTimeMillis();
+                CloudSaveApiClient.Response response = apiClient.comments(saveId);
                 
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    org.json.JSONObject jsonObj = new org.json.JSONObject(jsonResponse);
+                if (response.isOk()) {
+                    org.json.JSONObject jsonObj = new org.json.JSONObject(response.body);
                     org.json.JSONArray comments = jsonObj.optJSONArray("comments");
                     
                     String existingComment = null;
                     boolean existingIsLike = false;
+                    String existingId = null;
                     
                     if (comments != null) {
                         for (int i = 0; i < comments.length(); i++) {
@@ -1828,15 +2068,17 @@ public class DownloadSaveActivity extends Activity {
                             if (commentObj.optBoolean("is_own_comment", false)) {
                                 existingComment = commentObj.optString("comment", "");
                                 existingIsLike = commentObj.optBoolean("is_like", false);
+                                existingId = commentObj.optString("comment_id", null);
                                 break;
                             }
                         }
                     }
+                    history.rememberOwnComment(saveId, existingComment, existingIsLike, existingId, fetchedAt);
                     
                     final String finalExistingComment = existingComment;
                     final boolean finalExistingIsLike = existingIsLike;
                     
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (finalExistingComment != null) {
                             showUpdateCommentDialog(saveId, finalExistingComment, finalExistingIsLike, newComment, newIsLike);
                         } else {
@@ -1844,12 +2086,12 @@ public class DownloadSaveActivity extends Activity {
                         }
                     });
                 } else {
-                    runOnUiThread(() -> proceedWithComment(saveId, newComment, newIsLike));
+                    runOnUi(() -> proceedWithComment(saveId, newComment, newIsLike));
                 }
             } catch (Exception e) {
-                runOnUiThread(() -> proceedWithComment(saveId, newComment, newIsLike));
+                runOnUi(() -> proceedWithComment(saveId, newComment, newIsLike));
             }
-        }).start();
+        });
     }
     
     private void showUpdateCommentDialog(String saveId, String existingComment, boolean existingIsLike, String newComment, boolean newIsLike) {
@@ -1909,46 +2151,157 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void proceedWithComment(String saveId, String comment, boolean isLike) {
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String postData = "{\"save_id\":\"" + saveId + "\"," +
-                    "\"is_like\":" + isLike + "," +
-                    "\"comment\":\"" + comment.replace("\"", "\\\"") + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
-                
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/rate");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                int responseCode = conn.getResponseCode();
-                
-                runOnUiThread(() -> {
-                    if (responseCode == 200) {
-                        Toast.makeText(this, "✅ Comment submitted!", Toast.LENGTH_SHORT).show();
-                        // Store in rating history for My Activity
-                        storeRatingInActivity(saveId, isLike, comment);
-                        // Refresh community saves
-                        loadUploadedFolders();
+        String gameId = extractPackageName(selectedGame);
+        CommunityLists previous = currentCommunity();
+        CommunityLists optimistic = applyOwnRating(gameId, saveId, isLike, comment);
+        
+        mutations.submit(MutationQueue.Mutation.rate(saveId, isLike, comment), screenToken,
+            new RatingCallback(gameId, saveId, comment, isLike, optimistic, previous, "✅ Comment submitted!", "Failed to submit comment") {
+                @Override
+                public void onSent() {
+                    super.onSent();
+                    // Store in rating history for My Activity
+                    storeRatingInActivity(saveId, isLike, comment);
+                }
+            });
+    }
+    
+    // Outcome of a queued rating change that the cards and the own comment
+    // index already show. comment is null when the rating is taken back.
+    private class RatingCallback implements MutationQueue.Callback {
+        private final String gameId;
+        private final String saveId;
+        private final CommunityLists optimistic;
+        private final CommunityLists previous;
+        private final String sentMessage;
+        private final String failedMessage;
+        
+        RatingCallback(String gameId, String saveId, String comment, boolean isLike, CommunityLists optimistic,
+                       CommunityLists previous, String sentMessage, String failedMessage) {
+            this.gameId = gameId;
+            this.saveId = saveId;
+            this.optimistic = optimistic;
+            this.previous = previous;
+            this.sentMessage = sentMessage;
+            this.failedMessage = failedMessage;
+            // Queued changes reach the server, so the next comment can go
+            // by this without asking
+            RatingHistoryStore.getInstance(DownloadSaveActivity.this).putOwnComment(saveId, comment, isLike, null);
+        }
+        
+        @Override
+        public void onSent() {
+            reconcileCommunity(gameId);
+            Toast.makeText(DownloadSaveActivity.this, sentMessage, Toast.LENGTH_SHORT).show();
+        }
+        
+        @Override
+        public void onRejected(int code) {
+            RatingHistoryStore.getInstance(DownloadSaveActivity.this).forgetOwnComment(saveId);
+            rollbackCommunity(gameId, optimistic, previous);
+            Toast.makeText(DownloadSaveActivity.this, failedMessage, Toast.LENGTH_SHORT).show();
+        }
+        
+        @Override
+        public void onDeferred() {
+            // The change stays on the cards while it waits in the queue
+            showQueuedOffline();
+        }
+    }
+    
+    private void showQueuedOffline() {
+        Toast.makeText(this, "📴 Saved offline, it will be sent once you're connected", Toast.LENGTH_SHORT).show();
+    }
+    
+    // Shows the user's own rating of saveId on its cards before the server
+    // has answered. isLike null takes the rating back.
+    private CommunityLists applyOwnRating(String gameId, String saveId, Boolean isLike, String comment) {
+        String userName = getCurrentUserName();
+        CommunityLists updated = new CommunityLists(
+            withOwnRating(communityTopProgress, saveId, userName, isLike, comment),
+            withOwnRating(communityTopLiked, saveId, userName, isLike, comment),
+            communityProgressCursor, communityLikedCursor);
+        applyCommunity(gameId, updated);
+        return updated;
+    }
+    
+    private List<CommunitySave> withOwnRating(List<CommunitySave> saves, String saveId, String userName, Boolean isLike, String comment) {
+        List<CommunitySave> updated = new ArrayList<>(saves);
+        for (int i = 0; i < updated.size(); i++) {
+            if (!saveId.equals(updated.get(i).saveId)) continue;
+            CommunitySave save = updated.get(i).copy();
+            
+            // One rating per user, so the previous one is taken back first
+            for (int j = save.recentComments.size() - 1; j >= 0; j--) {
+                CommunitySave.Comment existing = save.recentComments.get(j);
+                if (userName.equals(existing.playerName)) {
+                    save.recentComments.remove(j);
+                    if (existing.isLike) {
+                        save.likes = Math.max(0, save.likes - 1);
                     } else {
-                        Toast.makeText(this, "Failed to submit comment", Toast.LENGTH_SHORT).show();
+                        save.dislikes = Math.max(0, save.dislikes - 1);
                     }
-                });
+                }
+            }
+            
+            if (isLike != null) {
+                CommunitySave.Comment own = new CommunitySave.Comment();
+                own.playerName = userName;
+                own.comment = comment;
+                own.isLike = isLike;
+                own.date = "";
+                own.profileImage = "";
+                save.recentComments.add(0, own);
+                if (isLike) {
+                    save.likes++;
+                } else {
+                    save.dislikes++;
+                }
+            }
+            updated.set(i, save);
+        }
+        return updated;
+    }
+    
+    private void applyCommunity(String gameId, CommunityLists lists) {
+        if (!showingFolders || !gameId.equals(extractPackageName(selectedGame))) return;
+        communityTopProgress = lists.topProgress;
+        communityTopLiked = lists.topLiked;
+        communityProgressCursor = lists.progressCursor;
+        communityLikedCursor = lists.likedCursor;
+        displayFolders();
+    }
+    
+    private CommunityLists currentCommunity() {
+        return new CommunityLists(communityTopProgress, communityTopLiked, communityProgressCursor, communityLikedCursor);
+    }
+    
+    // Undoes an optimistic rating the server refused, unless the lists were
+    // replaced meanwhile; then the server copy decides
+    private void rollbackCommunity(String gameId, CommunityLists optimistic, CommunityLists previous) {
+        if (communityTopProgress == optimistic.topProgress && communityTopLiked == optimistic.topLiked) {
+            applyCommunity(gameId, previous);
+        } else {
+            reconcileCommunity(gameId);
+        }
+    }
+    
+    // Fetches only the community lists after a rating change the server
+    // accepted and applies whatever differs from the optimistic state
+    private void reconcileCommunity(String gameId) {
+        communityCache.invalidate(gameId);
+        tasks.executeOnce("community:" + gameId, TaskExecutor.PRIORITY_LISTING, gameToken, () -> {
+            try {
+                long fetchedAt = System.currentTimeMillis();
+                CommunityLists loaded = apiClient.communitySaves(gameId, 0, COMMUNITY_PAGE_SIZE, this::readCommunityLists);
+                if (loaded == null) return;
+                indexOwnComments(loaded, fetchedAt);
+                communityCache.put(gameId, loaded);
+                runOnUi(() -> applyCommunity(gameId, loaded));
             } catch (Exception e) {
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+                android.util.Log.w("CloudSave", "Community reconcile failed: " + e.getMessage());
             }
-        }).start();
+        });
     }
     
     private void editComment(String saveId, CommunitySave.Comment comment) {
@@ -1973,43 +2326,12 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void updateComment(String saveId, String comment, boolean isLike) {
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String postData = "{\"save_id\":\"" + saveId + "\"," +
-                    "\"is_like\":" + isLike + "," +
-                    "\"comment\":\"" + comment.replace("\"", "\\\"") + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
-                
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/rate");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("PUT");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                int responseCode = conn.getResponseCode();
-                
-                runOnUiThread(() -> {
-                    if (responseCode == 200) {
-                        Toast.makeText(this, "✅ Comment updated!", Toast.LENGTH_SHORT).show();
-                        loadUploadedFolders();
-                    } else {
-                        Toast.makeText(this, "Failed to update comment", Toast.LENGTH_SHORT).show();
-                    }
-                });
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                });
-            }
-        }).start();
+        String gameId = extractPackageName(selectedGame);
+        CommunityLists previous = currentCommunity();
+        CommunityLists optimistic = applyOwnRating(gameId, saveId, isLike, comment);
+        
+        mutations.submit(MutationQueue.Mutation.updateRating(saveId, isLike, comment), screenToken,
+            new RatingCallback(gameId, saveId, comment, isLike, optimistic, previous, "✅ Comment updated!", "Failed to update comment"));
     }
     
     private void deleteComment(String saveId) {
@@ -2017,36 +2339,12 @@ public class DownloadSaveActivity extends Activity {
         builder.setTitle("🗑️ Delete Comment");
         builder.setMessage("Are you sure you want to delete your comment?");
         builder.setPositiveButton("Delete", (dialog, which) -> {
-            new Thread(() -> {
-                try {
-                    String packageName = getPackageName();
-                    String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                    
-                    String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/rate?" +
-                        "save_id=" + java.net.URLEncoder.encode(saveId, "UTF-8") +
-                        "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                        "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8");
-                    
-                    java.net.URL url = new java.net.URL(urlString);
-                    java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                    conn.setRequestMethod("DELETE");
-                    
-                    int responseCode = conn.getResponseCode();
-                    
-                    runOnUiThread(() -> {
-                        if (responseCode == 200) {
-                            Toast.makeText(this, "✅ Comment deleted!", Toast.LENGTH_SHORT).show();
-                            loadUploadedFolders();
-                        } else {
-                            Toast.makeText(this, "Failed to delete comment", Toast.LENGTH_SHORT).show();
-                        }
-                    });
-                } catch (Exception e) {
-                    runOnUiThread(() -> {
-                        Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    });
-                }
-            }).start();
+            String gameId = extractPackageName(selectedGame);
+            CommunityLists previous = currentCommunity();
+            CommunityLists optimistic = applyOwnRating(gameId, saveId, null, null);
+            
+            mutations.submit(MutationQueue.Mutation.deleteRating(saveId), screenToken,
+                new RatingCallback(gameId, saveId, null, false, optimistic, previous, "✅ Comment deleted!", "Failed to delete comment"));
         });
         builder.setNegativeButton("Cancel", null);
         builder.show();
@@ -2063,102 +2361,19 @@ public class DownloadSaveActivity extends Activity {
         }
     }
     
-    private void downloadFolder(String displayName) {
-        // Extract actual timestamp from display name if needed
-        String actualTimestamp = displayName;
-        if (displayName.contains(" - ")) {
-            // This is a custom name format, need to extract original timestamp
-            // Find the original folder name by looking through the parsed data
-            for (int i = 0; i < uploadedFolders.size(); i++) {
-                if (uploadedFolders.get(i).equals(displayName)) {
-                    // Extract timestamp from the original folder structure
-                    // Since we stored display names, we need to reverse-engineer the timestamp
-                    try {
-                        String dateStr = displayName.substring(displayName.lastIndexOf(" - ") + 3);
-                        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("MMM dd, yyyy HH:mm");
-                        java.util.Date date = sdf.parse(dateStr);
-                        actualTimestamp = String.valueOf(date.getTime() / 1000);
-                    } catch (Exception e) {
-                        // Fallback: use display name as is
-                        actualTimestamp = displayName;
-                    }
-                    break;
-                }
-            }
-        }
-        loadCloudFilesPreview(actualTimestamp);
-    }
-    
     private void loadCloudFilesPreview(String folderTimestamp) {
         Toast.makeText(this, "Loading files from backup...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.executeOnce("files:" + folderTimestamp, TaskExecutor.PRIORITY_LISTING, gameToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gamePackage = extractPackageName(selectedGame);
                 
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/backup-files?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + folderTimestamp;
-                
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
+                java.util.List<BackupFile> backupFiles = apiClient.backupFiles(gamePackage, folderTimestamp);
                 
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
+                if (backupFiles != null) {
+                    java.util.List<String> allFiles = BackupFileListParser.filenames(backupFiles);
                     
-                    String jsonResponse = response.toString();
-                    java.util.List<String> allFiles = new java.util.ArrayList<>();
-                    
-                    // Parse root and sync files
-                    String[] rootParts = jsonResponse.split("\"root_files\":");
-                    if (rootParts.length > 1) {
-                        String rootSection = rootParts[1];
-                        int endRoot = rootSection.indexOf("],");
-                        if (endRoot > 0) {
-                            rootSection = rootSection.substring(0, endRoot);
-                        }
-                        String[] fileParts = rootSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    String[] syncParts = jsonResponse.split("\"sync_files\":");
-                    if (syncParts.length > 1) {
-                        String syncSection = syncParts[1];
-                        int endSync = syncSection.indexOf("],");
-                        if (endSync > 0) {
-                            syncSection = syncSection.substring(0, endSync);
-                        }
-                        String[] fileParts = syncSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (allFiles.isEmpty()) {
                             Toast.makeText(this, "No files in backup", Toast.LENGTH_SHORT).show();
                             return;
@@ -2167,16 +2382,16 @@ public class DownloadSaveActivity extends Activity {
                         showCloudFilesPreviewDialog(allFiles, folderTimestamp);
                     });
                 } else {
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         Toast.makeText(this, "Failed to load files", Toast.LENGTH_SHORT).show();
                     });
                 }
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
     
     private void showCloudFilesPreviewDialog(java.util.List<String> filenames, String folderTimestamp) {
@@ -2218,41 +2433,34 @@ public class DownloadSaveActivity extends Activity {
     private void deleteBackup(String timestamp) {
         Toast.makeText(this, "Deleting backup...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        String gameId = extractPackageName(selectedGame);
+        BackupRegistry previous = backups;
+        BackupEntry entry = previous.find(timestamp);
+        // Drop the card right away, the server answer confirms or undoes it
+        BackupRegistry optimistic = previous.without(timestamp);
+        applyBackups(gameId, optimistic);
+        
+        tasks.execute(TaskExecutor.PRIORITY_ACTION, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                String gameId = extractPackageName(selectedGame);
-                
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/delete-backup?" +
-                    "game_id=" + java.net.URLEncoder.encode(gameId, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + timestamp;
+                CloudSaveApiClient.Response response = apiClient.deleteBackup(gameId, timestamp);
+                int responseCode = response.code;
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("DELETE");
-                
-                int responseCode = conn.getResponseCode();
+                if (responseCode == 200) {
+                    if (entry != null && entry.isShared) {
+                        communityCache.invalidate(gameId);
+                    }
+                    reconcileBackups(gameId);
+                }
                 
-                runOnUiThread(() -> {
+                runOnUi(() -> {
+                    if (responseCode != 200) {
+                        rollbackBackups(gameId, optimistic, previous);
+                    }
                     if (responseCode == 200) {
                         Toast.makeText(this, "Backup deleted successfully", Toast.LENGTH_SHORT).show();
-                        folderListLayout.removeAllViews();
-                        loadUploadedFolders();
                     } else if (responseCode == 403) {
                         try {
-                            java.io.BufferedReader reader = new java.io.BufferedReader(
-                                new java.io.InputStreamReader(conn.getErrorStream()));
-                            StringBuilder errorResponse = new StringBuilder();
-                            String line;
-                            while ((line = reader.readLine()) != null) {
-                                errorResponse.append(line);
-                            }
-                            reader.close();
-                            
-                            String jsonError = errorResponse.toString();
+                            String jsonError = response.body;
                             String message = "Cannot delete community save";
                             
                             if (jsonError.contains("\"message\":")) {
@@ -2278,11 +2486,45 @@ public class DownloadSaveActivity extends Activity {
                 });
                 
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
+                    rollbackBackups(gameId, optimistic, previous);
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
+    }
+    
+    // Shows a change to the user's backups without reloading anything;
+    // displayFolders() only rebinds the cards that differ
+    private void applyBackups(String gameId, BackupRegistry registry) {
+        if (!showingFolders || !gameId.equals(extractPackageName(selectedGame))) return;
+        backups = registry;
+        displayFolders();
+    }
+    
+    // Undoes an optimistic change the server refused. If the list was
+    // replaced meanwhile the server copy decides instead.
+    private void rollbackBackups(String gameId, BackupRegistry optimistic, BackupRegistry previous) {
+        if (backups == optimistic) {
+            applyBackups(gameId, previous);
+        } else {
+            reconcileBackups(gameId);
+        }
+    }
+    
+    // Fetches only the backup list after a change the server accepted, so
+    // fields it computes (expiry, top 10) replace the local guesses
+    private void reconcileBackups(String gameId) {
+        tasks.executeOnce("backups:" + gameId, TaskExecutor.PRIORITY_LISTING, gameToken, () -> {
+            try {
+                BackupListParser.BackupList backupList = apiClient.listSaves(gameId);
+                if (backupList == null) return;
+                BackupRegistry registry = buildRegistry(backupList);
+                runOnUi(() -> applyBackups(gameId, registry));
+            } catch (Exception e) {
+                android.util.Log.w("CloudSave", "Backup list reconcile failed: " + e.getMessage());
+            }
+        });
     }
     
     private String extractPackageName(String gameDisplayName) {
@@ -2297,249 +2539,359 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void downloadCloudBackup(String folderTimestamp) {
-        // Show progress overlay
+        String gamePackage = extractPackageName(selectedGame);
+        // The service keeps going if this screen is rotated or left
+        RestoreService.enqueue(this, new RestoreService.Job(gamePackage, gameFolder(gamePackage), folderTimestamp, null));
         showProgressOverlay();
+    }
+    
+    private String gameFolder(String gamePackage) {
+        // Get app name for save directory
+        String appName = "Unknown";
+        try {
+            android.content.pm.ApplicationInfo appInfo = getPackageManager().getApplicationInfo(gamePackage, 0);
+            appName = (String) getPackageManager().getApplicationLabel(appInfo);
+        } catch (Exception e) {
+            appName = gamePackage.substring(gamePackage.lastIndexOf('.') + 1);
+        }
+        return android.os.Environment.getExternalStorageDirectory() + "/Documents/AdultModGames/" + appName;
+    }
+    
+    private final RestoreService.Listener restoreListener = new RestoreService.Listener() {
+        @Override
+        public void onRestoreProgress(RestoreService.Job job, RestoreProgress.Snapshot progress) {
+            // Also brings the overlay back after the activity was recreated
+            showProgressOverlay();
+            String message = job.isCommunity() ? "Downloading community file: " : "Downloading ";
+            updateProgress(progress.percent(), message + (progress.currentFile != null ? progress.currentFile : ""),
+                progress.filesDone, progress.filesTotal, progress.describeTransfer());
+        }
         
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                String gamePackage = extractPackageName(selectedGame);
-                
-                // Get app name for save directory
-                String appName = "Unknown";
-                try {
-                    android.content.pm.ApplicationInfo appInfo = getPackageManager().getApplicationInfo(gamePackage, 0);
-                    appName = (String) getPackageManager().getApplicationLabel(appInfo);
-                } catch (Exception e) {
-                    appName = gamePackage.substring(gamePackage.lastIndexOf('.') + 1);
+        @Override
+        public void onRestoreFinished(RestoreService.Job job, RestoreEngine.Result result, String error) {
+            hideProgressOverlay();
+            if (result == null) {
+                Toast.makeText(DownloadSaveActivity.this, error != null ? "Error: " + error : "Download failed", Toast.LENGTH_LONG).show();
+                return;
+            }
+            if (result.hasFailures()) {
+                Toast.makeText(DownloadSaveActivity.this, "⚠️ Restore incomplete, your current saves were kept", Toast.LENGTH_LONG).show();
+                showRestoreFailures(result);
+            } else if (job.isCommunity()) {
+                Toast.makeText(DownloadSaveActivity.this, "✅ Downloaded " + result.succeeded + " community files!", Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(DownloadSaveActivity.this, "✅ Downloaded " + result.succeeded + " files to: " + job.gameFolder + "/saves", Toast.LENGTH_LONG).show();
+            }
+            // Show ad after successful download
+            android.util.Log.d("ADS_DEBUG", "DownloadSaveActivity: Calling showRewardedAd for Download");
+            UnityAdsHelper.showRewardedAd(DownloadSaveActivity.this, "Download");
+        }
+    };
+    
+    private void showRestoreFailures(RestoreEngine.Result result) {
+        StringBuilder failedList = new StringBuilder();
+        failedList.append(result.failedFiles.size()).append(" of ").append(result.total)
+            .append(" files could not be downloaded:\n\n");
+        for (String filename : result.failedFiles) {
+            failedList.append("• ").append(filename).append("\n");
+        }
+
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        builder.setTitle("⚠️ Some Files Failed");
+        builder.setMessage(failedList.toString());
+        builder.setPositiveButton("OK", null);
+        builder.show();
+    }
+
+    // One pass over a community-saves response, straight off the stream.
+    // Both lists and their cursors fill as the tokens arrive, and fields the
+    // cards do not use are skipped without being built.
+    private CommunityLists readCommunityLists(java.io.InputStream in) throws java.io.IOException {
+        android.util.JsonReader reader = new android.util.JsonReader(new java.io.InputStreamReader(in, "UTF-8"));
+        java.util.List<CommunitySave> topProgress = new java.util.ArrayList<>(COMMUNITY_PAGE_SIZE);
+        java.util.List<CommunitySave> topLiked = new java.util.ArrayList<>(COMMUNITY_PAGE_SIZE);
+        String progressCursor = null;
+        String likedCursor = null;
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "top_progress":
+                        readCommunitySaves(reader, topProgress);
+                        break;
+                    case "top_liked":
+                        readCommunitySaves(reader, topLiked);
+                        break;
+                    case "progress_next_cursor":
+                        progressCursor = nextText(reader);
+                        break;
+                    case "liked_next_cursor":
+                        likedCursor = nextText(reader);
+                        break;
+                    default:
+                        reader.skipValue();
                 }
-                
-                // Create save directory
-                String gameFolder = android.os.Environment.getExternalStorageDirectory() + "/Documents/AdultModGames/" + appName;
-                java.io.File gameFolderDir = new java.io.File(gameFolder);
-                
-                if (gameFolderDir.exists()) {
-                    deleteDirectory(gameFolderDir);
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new java.io.IOException("Malformed community saves: " + e.getMessage(), e);
+        }
+        
+        android.util.Log.i("CloudSave", "Parsed " + topProgress.size() + " progress and " + topLiked.size() + " liked saves");
+        CommunityLists lists = new CommunityLists(topProgress, topLiked, progressCursor, likedCursor);
+        lists.fresh = !CloudSaveApiClient.isCached(in);
+        return lists;
+    }
+    
+    // A further page of one community list: {"saves": [...], "next_cursor": ...}
+    private Page<CommunitySave> readCommunityPage(java.io.InputStream in) throws java.io.IOException {
+        android.util.JsonReader reader = new android.util.JsonReader(new java.io.InputStreamReader(in, "UTF-8"));
+        java.util.List<CommunitySave> saves = new java.util.ArrayList<>(COMMUNITY_PAGE_SIZE);
+        String nextCursor = null;
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "saves":
+                        readCommunitySaves(reader, saves);
+                        break;
+                    case "next_cursor":
+                        nextCursor = nextText(reader);
+                        break;
+                    default:
+                        reader.skipValue();
                 }
-                
-                String savePath = gameFolder + "/saves";
-                java.io.File saveDir = new java.io.File(savePath);
-                saveDir.mkdirs();
-                
-                // Get files from backup
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/backup-files?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + folderTimestamp;
-                
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    java.util.List<String> allFiles = new java.util.ArrayList<>();
-                    
-                    // Parse files
-                    String[] rootParts = jsonResponse.split("\"root_files\":");
-                    if (rootParts.length > 1) {
-                        String rootSection = rootParts[1];
-                        int endRoot = rootSection.indexOf("],");
-                        if (endRoot > 0) {
-                            rootSection = rootSection.substring(0, endRoot);
-                        }
-                        String[] fileParts = rootSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    String[] syncParts = jsonResponse.split("\"sync_files\":");
-                    if (syncParts.length > 1) {
-                        String syncSection = syncParts[1];
-                        int endSync = syncSection.indexOf("],");
-                        if (endSync > 0) {
-                            syncSection = syncSection.substring(0, endSync);
-                        }
-                        String[] fileParts = syncSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    final int totalFiles = allFiles.size();
-                    
-                    // Download all files with progress
-                    int downloadedCount = 0;
-                    for (int i = 0; i < allFiles.size(); i++) {
-                        String filename = allFiles.get(i);
-                        final int currentFile = i + 1;
-                        final int percentage = (currentFile * 100) / totalFiles;
-                        
-                        runOnUiThread(() -> {
-                            updateProgress(percentage, "Downloading " + filename, currentFile, totalFiles);
-                        });
-                        
-                        boolean success = downloadFileToFolder(packageName, deviceInfo, filename, saveDir);
-                        if (success) downloadedCount++;
-                    }
-                    
-                    final int finalCount = downloadedCount;
-                    runOnUiThread(() -> {
-                        hideProgressOverlay();
-                        Toast.makeText(this, "✅ Downloaded " + finalCount + " files to: " + savePath, Toast.LENGTH_LONG).show();
-                        // Show ad after successful download
-                        android.util.Log.d("ADS_DEBUG", "DownloadSaveActivity: Calling showRewardedAd for Download");
-                        UnityAdsHelper.showRewardedAd(this, "Download");
-                    });
-                } else {
-                    runOnUiThread(() -> {
-                        hideProgressOverlay();
-                        Toast.makeText(this, "Download failed", Toast.LENGTH_SHORT).show();
-                    });
+            }
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new java.io.IOException("Malformed community page: " + e.getMessage(), e);
+        }
+        Page<CommunitySave> page = new Page<>(saves, nextCursor);
+        page.fresh = !CloudSaveApiClient.isCached(in);
+        return page;
+    }
+    
+    // A further page of a save's comments: {"comments": [...], "next_cursor": ...}
+    private Page<CommunitySave.Comment> readCommentPage(java.io.InputStream in) throws java.io.IOException {
+        android.util.JsonReader reader = new android.util.JsonReader(new java.io.InputStreamReader(in, "UTF-8"));
+        java.util.List<CommunitySave.Comment> comments = new java.util.ArrayList<>(COMMENT_PAGE_SIZE);
+        String nextCursor = null;
+        try {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "comments":
+                        readComments(reader, comments);
+                        break;
+                    case "next_cursor":
+                        nextCursor = nextText(reader);
+                        break;
+                    default:
+                        reader.skipValue();
                 }
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    hideProgressOverlay();
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                });
             }
-        }).start();
+            reader.endObject();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new java.io.IOException("Malformed comment page: " + e.getMessage(), e);
+        }
+        Page<CommunitySave.Comment> page = new Page<>(comments, nextCursor);
+        page.fresh = !CloudSaveApiClient.isCached(in);
+        return page;
+    }
+    
+    private void readCommunitySaves(android.util.JsonReader reader, java.util.List<CommunitySave> saves) throws java.io.IOException {
+        if (reader.peek() != android.util.JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            CommunitySave save = readCommunitySave(reader);
+            if (save != null) {
+                saves.add(save);
+            }
+        }
+        reader.endArray();
+    }
+    
+    private CommunitySave readCommunitySave(android.util.JsonReader reader) throws java.io.IOException {
+        if (reader.peek() != android.util.JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        
+        CommunitySave save = new CommunitySave();
+        save.saveId = "";
+        save.userId = "";
+        save.folderTimestamp = "";
+        save.playerName = "Anonymous";
+        save.profileImage = "";
+        save.patreonLink = "";
+        save.buymeacoffeeLink = "";
+        save.recentComments = new java.util.ArrayList<>();
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "save_id":
+                    save.saveId = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "user_id":
+                    save.userId = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "folder_timestamp":
+                    save.folderTimestamp = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "progress":
+                    save.progress = (float) BackupListParser.nextDouble(reader);
+                    break;
+                case "player_name":
+                    save.playerName = orDefault(BackupListParser.nextString(reader), "Anonymous");
+                    break;
+                case "profile_image":
+                    save.profileImage = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "profile_image_id":
+                    save.profileImageId = nextText(reader);
+                    break;
+                case "profile_image_url":
+                    save.profileImageUrl = nextText(reader);
+                    break;
+                case "likes":
+                    save.likes = BackupListParser.nextInt(reader, 0);
+                    break;
+                case "dislikes":
+                    save.dislikes = BackupListParser.nextInt(reader, 0);
+                    break;
+                case "downloads":
+                    save.downloads = BackupListParser.nextInt(reader, 0);
+                    break;
+                case "patreon_link":
+                    save.patreonLink = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "buymeacoffee_link":
+                    save.buymeacoffeeLink = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "is_premium":
+                    save.isPremium = BackupListParser.nextBoolean(reader);
+                    break;
+                case "comments_next_cursor":
+                    save.commentsCursor = nextText(reader);
+                    break;
+                case "recent_comments":
+                    readComments(reader, save.recentComments);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return save;
     }
     
-    private boolean downloadFileToFolder(String packageName, String deviceInfo, String filename, java.io.File saveDir) {
-        try {
-            String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/download?" +
-                "game_id=" + java.net.URLEncoder.encode(extractPackageName(selectedGame), "UTF-8") +
-                "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                "&file_name=" + java.net.URLEncoder.encode(filename, "UTF-8");
-            
-            java.net.URL url = new java.net.URL(urlString);
-            java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            
-            if (conn.getResponseCode() == 200) {
-                java.io.File outputFile = new java.io.File(saveDir, filename);
-                
-                // Create parent directories if they don't exist
-                outputFile.getParentFile().mkdirs();
-                
-                java.io.InputStream inputStream = conn.getInputStream();
-                java.io.FileOutputStream outputStream = new java.io.FileOutputStream(outputFile);
-                
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                
-                inputStream.close();
-                outputStream.close();
-                return true;
+    private void readComments(android.util.JsonReader reader, java.util.List<CommunitySave.Comment> comments) throws java.io.IOException {
+        if (reader.peek() != android.util.JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return;
+        }
+        reader.beginArray();
+        while (reader.hasNext()) {
+            CommunitySave.Comment comment = readComment(reader);
+            if (comment != null) {
+                comments.add(comment);
             }
-        } catch (Exception e) {
-            android.util.Log.e("CloudSave", "Error downloading file: " + e.getMessage());
         }
-        return false;
+        reader.endArray();
     }
     
-    private void deleteDirectory(java.io.File dir) {
-        if (dir.isDirectory()) {
-            java.io.File[] files = dir.listFiles();
-            if (files != null) {
-                for (java.io.File file : files) {
-                    deleteDirectory(file);
-                }
+    private CommunitySave.Comment readComment(android.util.JsonReader reader) throws java.io.IOException {
+        if (reader.peek() != android.util.JsonToken.BEGIN_OBJECT) {
+            // Skip invalid comment
+            reader.skipValue();
+            return null;
+        }
+        
+        CommunitySave.Comment comment = new CommunitySave.Comment();
+        comment.playerName = "Anonymous";
+        comment.comment = "";
+        comment.date = "";
+        comment.profileImage = "";
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "player_name":
+                    comment.playerName = orDefault(BackupListParser.nextString(reader), "Anonymous");
+                    break;
+                case "comment":
+                    comment.comment = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "is_like":
+                    comment.isLike = BackupListParser.nextBoolean(reader);
+                    break;
+                case "date":
+                    comment.date = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "profile_image":
+                    comment.profileImage = orDefault(BackupListParser.nextString(reader), "");
+                    break;
+                case "profile_image_id":
+                    comment.profileImageId = nextText(reader);
+                    break;
+                case "profile_image_url":
+                    comment.profileImageUrl = nextText(reader);
+                    break;
+                case "is_premium":
+                    comment.isPremium = BackupListParser.nextBoolean(reader);
+                    break;
+                case "is_own_comment":
+                    comment.isOwn = BackupListParser.nextBoolean(reader);
+                    break;
+                case "comment_id":
+                    comment.commentId = nextText(reader);
+                    break;
+                default:
+                    reader.skipValue();
             }
         }
-        dir.delete();
+        reader.endObject();
+        return comment;
     }
     
-    private java.util.List<CommunitySave> parseCommunitySavesFromCategory(String jsonResponse, String category) {
-        java.util.List<CommunitySave> saves = new java.util.ArrayList<>();
-        
-        try {
-            org.json.JSONObject jsonObj = new org.json.JSONObject(jsonResponse);
-            String arrayKey = category.equals("progress") ? "top_progress" : "top_liked";
-            org.json.JSONArray categoryArray = jsonObj.optJSONArray(arrayKey);
-            
-            if (categoryArray != null) {
-                for (int i = 0; i < categoryArray.length(); i++) {
-                    try {
-                        org.json.JSONObject saveObj = categoryArray.getJSONObject(i);
-                        CommunitySave save = new CommunitySave();
-                        
-                        save.saveId = saveObj.optString("save_id", "");
-                        save.userId = saveObj.optString("user_id", "");
-                        save.folderTimestamp = saveObj.optString("folder_timestamp", "");
-                        save.progress = (float) saveObj.optDouble("progress", 0.0);
-                        save.playerName = saveObj.optString("player_name", "Anonymous");
-                        save.profileImage = saveObj.optString("profile_image", "");
-                        save.likes = saveObj.optInt("likes", 0);
-                        save.dislikes = saveObj.optInt("dislikes", 0);
-                        save.downloads = saveObj.optInt("downloads", 0);
-                        save.patreonLink = saveObj.optString("patreon_link", "");
-                        save.buymeacoffeeLink = saveObj.optString("buymeacoffee_link", "");
-                        save.isPremium = saveObj.optBoolean("is_premium", false);
-                        
-                        // Parse comments
-                        save.recentComments = new java.util.ArrayList<>();
-                        org.json.JSONArray commentsArray = saveObj.optJSONArray("recent_comments");
-                        if (commentsArray != null) {
-                            for (int j = 0; j < commentsArray.length(); j++) {
-                                try {
-                                    org.json.JSONObject commentObj = commentsArray.getJSONObject(j);
-                                    CommunitySave.Comment comment = new CommunitySave.Comment();
-                                    comment.playerName = commentObj.optString("player_name", "Anonymous");
-                                    comment.comment = commentObj.optString("comment", "");
-                                    comment.isLike = commentObj.optBoolean("is_like", false);
-                                    comment.date = commentObj.optString("date", "");
-                                    comment.profileImage = commentObj.optString("profile_image", "");
-                                    comment.isPremium = commentObj.optBoolean("is_premium", false);
-                                    save.recentComments.add(comment);
-                                } catch (Exception ce) {
-                                    // Skip invalid comment
-                                }
-                            }
-                        }
-                        
-                        saves.add(save);
-                        
-                    } catch (Exception e) {
-                        android.util.Log.w("CloudSave", "Parse error save " + i + ": " + e.getMessage());
-                    }
-                }
-            } else {
-                android.util.Log.w("CloudSave", "No " + arrayKey + " array in JSON");
+    // Feeds the own comments of a fresh response to the index. Cached and
+    // stale lists are never indexed, they may predate a change.
+    private void indexOwnComments(CommunityLists lists, long fetchedAt) {
+        if (!lists.fresh) return;
+        java.util.List<CommunitySave> saves = new java.util.ArrayList<>(lists.topProgress);
+        saves.addAll(lists.topLiked);
+        indexOwnComments(saves, fetchedAt);
+    }
+    
+    private void indexOwnComments(java.util.List<CommunitySave> saves, long fetchedAt) {
+        java.util.List<RatingHistoryStore.OwnComment> found = new java.util.ArrayList<>();
+        for (CommunitySave save : saves) {
+            collectOwnComments(save.saveId, save.recentComments, found);
+        }
+        RatingHistoryStore.getInstance(this).rememberOwnComments(found, fetchedAt);
+    }
+    
+    private void collectOwnComments(String saveId, java.util.List<CommunitySave.Comment> comments,
+                                    java.util.List<RatingHistoryStore.OwnComment> found) {
+        for (CommunitySave.Comment comment : comments) {
+            if (comment.isOwn) {
+                found.add(new RatingHistoryStore.OwnComment(saveId, comment.comment, comment.isLike, comment.commentId));
             }
-        } catch (Exception e) {
-            android.util.Log.e("CloudSave", "JSON parse failed: " + e.getMessage());
         }
-        
-        android.util.Log.i("CloudSave", "Parsed " + saves.size() + " " + category + " saves");
-        return saves;
+    }
+    
+    // Null for missing, null and empty values
+    private static String nextText(android.util.JsonReader reader) throws java.io.IOException {
+        String text = BackupListParser.nextString(reader);
+        return text == null || text.isEmpty() ? null : text;
+    }
+    
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
     }
     
     private void previewFilesForDownload() {
@@ -2549,78 +2901,23 @@ public class DownloadSaveActivity extends Activity {
     private void continueWithDownload() {
         Toast.makeText(this, "Loading files from cloud...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.execute(TaskExecutor.PRIORITY_RESTORE, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gamePackage = extractPackageName(selectedGame);
                 
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/list?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8");
-                
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
+                BackupListParser.BackupList backupList = apiClient.listSaves(gamePackage);
                 
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    
-                    // Parse backup folders from backups array with progress
+                if (backupList != null) {
+                    // Backup folders with progress
                     java.util.List<String> backupFolders = new java.util.ArrayList<>();
                     java.util.List<String> backupTimestamps = new java.util.ArrayList<>();
                     
-                    if (jsonResponse.contains("\"backups\":")) {
-                        String[] parts = jsonResponse.split("\"folder_name\":");
-                        for (int i = 1; i < parts.length; i++) {
-                            String folderPart = parts[i];
-                            int start = folderPart.indexOf("\"") + 1;
-                            int end = folderPart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                String folderName = folderPart.substring(start, end);
-                                
-                                // Extract timestamp
-                                String timestampPart = parts[i];
-                                int tsStart = timestampPart.indexOf("\"folder_timestamp\":") + 19;
-                                int tsEnd = timestampPart.indexOf(",", tsStart);
-                                if (tsEnd == -1) tsEnd = timestampPart.indexOf("}", tsStart);
-                                String timestamp = "";
-                                if (tsStart > 18 && tsEnd > tsStart) {
-                                    timestamp = timestampPart.substring(tsStart, tsEnd).trim();
-                                    backupTimestamps.add(timestamp);
-                                }
-                                
-                                // Extract progress
-                                float progress = 0.0f;
-                                int progStart = timestampPart.indexOf("\"progress_percentage\":");
-                                if (progStart > 0) {
-                                    progStart += 21;
-                                    int progEnd = timestampPart.indexOf(",", progStart);
-                                    if (progEnd == -1) progEnd = timestampPart.indexOf("}", progStart);
-                                    if (progEnd > progStart) {
-                                        try {
-                                            progress = Float.parseFloat(timestampPart.substring(progStart, progEnd).trim());
-                                        } catch (Exception e) {}
-                                    }
-                                }
-                                
-                                // Add folder name with progress
-                                backupFolders.add(folderName + " (📊 " + progress + "%)");
-                            }
-                        }
+                    for (BackupEntry entry : backupList.backups) {
+                        backupTimestamps.add(entry.folderTimestamp);
+                        backupFolders.add(entry.folderName + " (📊 " + entry.progress + "%)");
                     }
                     
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (backupFolders.isEmpty()) {
                             Toast.makeText(this, "No backups found, checking for community saves...", Toast.LENGTH_SHORT).show();
                             checkForHigherProgress("", 0.0f);
@@ -2631,17 +2928,17 @@ public class DownloadSaveActivity extends Activity {
                         showBackupSelectionDialog(backupFolders, backupTimestamps);
                     });
                 } else {
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         Toast.makeText(this, "Failed to load files from cloud", Toast.LENGTH_SHORT).show();
                     });
                 }
                 
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
     
     private void showBackupSelectionDialog(java.util.List<String> backupFolders, java.util.List<String> backupTimestamps) {
@@ -2672,37 +2969,19 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void checkForHigherProgress(String selectedTimestamp, float userProgress) {
-        new Thread(() -> {
+        tasks.execute(TaskExecutor.PRIORITY_RESTORE, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gamePackage = extractPackageName(selectedGame);
                 
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/community-saves?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&user_progress=" + userProgress;
+                long fetchedAt = System.currentTimeMillis();
+                CommunityLists lists = apiClient.communitySaves(gamePackage, userProgress, 0, this::readCommunityLists);
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
+                if (lists != null) {
+                    indexOwnComments(lists, fetchedAt);
+                    java.util.List<CommunitySave> topProgress = lists.topProgress;
+                    java.util.List<CommunitySave> topLiked = lists.topLiked;
                     
-                    String jsonResponse = response.toString();
-                    java.util.List<CommunitySave> topProgress = parseCommunitySavesFromCategory(jsonResponse, "top_progress");
-                    java.util.List<CommunitySave> topLiked = parseCommunitySavesFromCategory(jsonResponse, "top_liked");
-                    
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (topProgress.isEmpty() && topLiked.isEmpty()) {
                             if (selectedTimestamp.isEmpty()) {
                                 Toast.makeText(this, "No saves available for this game", Toast.LENGTH_SHORT).show();
@@ -2714,7 +2993,7 @@ public class DownloadSaveActivity extends Activity {
                         }
                     });
                 } else {
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (selectedTimestamp.isEmpty()) {
                             Toast.makeText(this, "No community saves found", Toast.LENGTH_SHORT).show();
                         } else {
@@ -2723,7 +3002,7 @@ public class DownloadSaveActivity extends Activity {
                     });
                 }
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     if (selectedTimestamp.isEmpty()) {
                         Toast.makeText(this, "Error loading community saves", Toast.LENGTH_SHORT).show();
                     } else {
@@ -2731,7 +3010,7 @@ public class DownloadSaveActivity extends Activity {
                     }
                 });
             }
-        }).start();
+        });
     }
     
     private void showDualCategoryDialog(String userTimestamp, float userProgress, java.util.List<CommunitySave> topProgress, java.util.List<CommunitySave> topLiked) {
@@ -2808,62 +3087,16 @@ public class DownloadSaveActivity extends Activity {
     private void downloadSpecificBackup(String folderTimestamp) {
         Toast.makeText(this, "📁 Loading files from selected backup...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.execute(TaskExecutor.PRIORITY_RESTORE, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gamePackage = extractPackageName(selectedGame);
                 
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/backup-files?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + folderTimestamp;
+                java.util.List<BackupFile> backupFiles = apiClient.backupFiles(gamePackage, folderTimestamp);
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    java.util.List<String> allFiles = new java.util.ArrayList<>();
-                    
-                    String[] rootParts = jsonResponse.split("\"root_files\":");
-                    if (rootParts.length > 1) {
-                        String[] fileParts = rootParts[1].split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    String[] syncParts = jsonResponse.split("\"sync_files\":");
-                    if (syncParts.length > 1) {
-                        String[] fileParts = syncParts[1].split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
+                if (backupFiles != null) {
+                    java.util.List<String> allFiles = BackupFileListParser.filenames(backupFiles);
                     
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (allFiles.isEmpty()) {
                             Toast.makeText(this, "No files in selected backup", Toast.LENGTH_SHORT).show();
                             return;
@@ -2872,16 +3105,16 @@ public class DownloadSaveActivity extends Activity {
                         showDownloadPreviewDialog(allFiles, folderTimestamp);
                     });
                 } else {
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         Toast.makeText(this, "Failed to load backup files", Toast.LENGTH_SHORT).show();
                     });
                 }
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
     
     private void showDownloadPreviewDialog(java.util.List<String> filenames, String folderTimestamp) {
@@ -2954,7 +3187,7 @@ public class DownloadSaveActivity extends Activity {
         LinearLayout.LayoutParams imgParams = new LinearLayout.LayoutParams(50, 50);
         imgParams.setMargins(0, 0, 10, 0);
         profileImage.setLayoutParams(imgParams);
-        loadProfileImage(profileImage, save.profileImage);
+        loadProfileImage(profileImage, save.profileImage, save.profileImageId, save.profileImageUrl, 50);
         headerLayout.addView(profileImage);
         
         TextView playerText = new TextView(this);
@@ -3067,62 +3300,16 @@ public class DownloadSaveActivity extends Activity {
     private void previewCommunityFiles(CommunitySave save) {
         Toast.makeText(this, "Loading files...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        tasks.executeOnce("community-files:" + save.saveId, TaskExecutor.PRIORITY_LISTING, gameToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
                 String gamePackage = extractPackageName(selectedGame);
                 
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/backup-files?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + save.folderTimestamp;
+                java.util.List<BackupFile> backupFiles = apiClient.backupFiles(gamePackage, save.folderTimestamp);
                 
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    java.util.List<String> allFiles = new java.util.ArrayList<>();
-                    
-                    String[] rootParts = jsonResponse.split("\"root_files\":");
-                    if (rootParts.length > 1) {
-                        String[] fileParts = rootParts[1].split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    String[] syncParts = jsonResponse.split("\"sync_files\":");
-                    if (syncParts.length > 1) {
-                        String[] fileParts = syncParts[1].split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
+                if (backupFiles != null) {
+                    java.util.List<String> allFiles = BackupFileListParser.filenames(backupFiles);
                     
-                    runOnUiThread(() -> {
+                    runOnUi(() -> {
                         if (allFiles.isEmpty()) {
                             Toast.makeText(this, "No files found", Toast.LENGTH_SHORT).show();
                             return;
@@ -3131,12 +3318,12 @@ public class DownloadSaveActivity extends Activity {
                         showCommunityFilesDialog(allFiles, save);
                     });
                 } else {
-                    runOnUiThread(() -> Toast.makeText(this, "Failed to load files", Toast.LENGTH_SHORT).show());
+                    runOnUi(() -> Toast.makeText(this, "Failed to load files", Toast.LENGTH_SHORT).show());
                 }
             } catch (Exception e) {
-                runOnUiThread(() -> Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show());
+                runOnUi(() -> Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show());
             }
-        }).start();
+        });
     }
     
     private void showCommunityFilesDialog(java.util.List<String> filenames, CommunitySave save) {
@@ -3182,198 +3369,13 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void trackDownload(String saveId) {
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String postData = "{\"save_id\":\"" + saveId + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
-                
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/track-download");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                conn.getResponseCode();
-            } catch (Exception e) {
-                android.util.Log.w("DownloadSave", "Failed to track download: " + e.getMessage());
-            }
-        }).start();
+        TelemetryBatcher.getInstance(this).trackDownload(saveId);
     }
     
     private void downloadHigherProgressSave(String sourceUserId, String sourceTimestamp) {
-        // Show progress overlay
+        String gamePackage = extractPackageName(selectedGame);
+        RestoreService.enqueue(this, new RestoreService.Job(gamePackage, gameFolder(gamePackage), sourceTimestamp, sourceUserId));
         showProgressOverlay();
-        
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                String gamePackage = extractPackageName(selectedGame);
-                
-                String appName = "Unknown";
-                try {
-                    android.content.pm.ApplicationInfo appInfo = getPackageManager().getApplicationInfo(gamePackage, 0);
-                    appName = (String) getPackageManager().getApplicationLabel(appInfo);
-                } catch (Exception e) {
-                    appName = gamePackage.substring(gamePackage.lastIndexOf('.') + 1);
-                }
-                
-                String gameFolder = android.os.Environment.getExternalStorageDirectory() + "/Documents/AdultModGames/" + appName;
-                java.io.File gameFolderDir = new java.io.File(gameFolder);
-                
-                if (gameFolderDir.exists()) {
-                    deleteDirectory(gameFolderDir);
-                }
-                
-                String savePath = gameFolder + "/saves";
-                java.io.File saveDir = new java.io.File(savePath);
-                java.io.File syncDir = new java.io.File(saveDir, "sync");
-                saveDir.mkdirs();
-                syncDir.mkdirs();
-                
-                String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/backup-files?" +
-                    "game_id=" + java.net.URLEncoder.encode(gamePackage, "UTF-8") +
-                    "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                    "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                    "&folder_timestamp=" + sourceTimestamp;
-                
-                java.net.URL url = new java.net.URL(urlString);
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("GET");
-                
-                if (conn.getResponseCode() == 200) {
-                    java.io.BufferedReader reader = new java.io.BufferedReader(
-                        new java.io.InputStreamReader(conn.getInputStream()));
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    reader.close();
-                    
-                    String jsonResponse = response.toString();
-                    java.util.List<String> allFiles = new java.util.ArrayList<>();
-                    
-                    String[] rootParts = jsonResponse.split("\"root_files\":");
-                    if (rootParts.length > 1) {
-                        String rootSection = rootParts[1];
-                        int endRoot = rootSection.indexOf("],");
-                        if (endRoot > 0) {
-                            rootSection = rootSection.substring(0, endRoot);
-                        }
-                        String[] fileParts = rootSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    String[] syncParts = jsonResponse.split("\"sync_files\":");
-                    if (syncParts.length > 1) {
-                        String syncSection = syncParts[1];
-                        int endSync = syncSection.indexOf("],");
-                        if (endSync > 0) {
-                            syncSection = syncSection.substring(0, endSync);
-                        }
-                        String[] fileParts = syncSection.split("\"filename\":");
-                        for (int i = 1; i < fileParts.length; i++) {
-                            String filenamePart = fileParts[i];
-                            int start = filenamePart.indexOf("\"") + 1;
-                            int end = filenamePart.indexOf("\"", start);
-                            if (start > 0 && end > start) {
-                                allFiles.add(filenamePart.substring(start, end));
-                            }
-                        }
-                    }
-                    
-                    final int totalFiles = allFiles.size();
-                    
-                    int downloadedCount = 0;
-                    for (int i = 0; i < allFiles.size(); i++) {
-                        String filename = allFiles.get(i);
-                        final int currentFile = i + 1;
-                        final int percentage = (currentFile * 100) / totalFiles;
-                        
-                        runOnUiThread(() -> {
-                            updateProgress(percentage, "Downloading community file: " + filename, currentFile, totalFiles);
-                        });
-                        
-                        boolean success = downloadFileFromSource(packageName, deviceInfo, filename, saveDir, sourceUserId, sourceTimestamp);
-                        if (success) downloadedCount++;
-                    }
-                    
-                    final int finalCount = downloadedCount;
-                    runOnUiThread(() -> {
-                        hideProgressOverlay();
-                        Toast.makeText(this, "✅ Downloaded " + finalCount + " community files!", Toast.LENGTH_LONG).show();
-                        // Show ad after successful community download
-                        android.util.Log.d("ADS_DEBUG", "DownloadSaveActivity: Calling showRewardedAd for Community Download");
-                        UnityAdsHelper.showRewardedAd(this, "Download");
-                    });
-                } else {
-                    runOnUiThread(() -> {
-                        hideProgressOverlay();
-                        Toast.makeText(this, "Download failed", Toast.LENGTH_SHORT).show();
-                    });
-                }
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    hideProgressOverlay();
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                });
-            }
-        }).start();
-    }
-    
-    private boolean downloadFileFromSource(String packageName, String deviceInfo, String filename, java.io.File saveDir, String sourceUserId, String sourceTimestamp) {
-        try {
-            String urlString = CloudSaveConfig.getApiUrl() + "/api/saves/download?" +
-                "game_id=" + java.net.URLEncoder.encode(extractPackageName(selectedGame), "UTF-8") +
-                "&package_name=" + java.net.URLEncoder.encode(packageName, "UTF-8") +
-                "&device_info=" + java.net.URLEncoder.encode(deviceInfo, "UTF-8") +
-                "&file_name=" + java.net.URLEncoder.encode(filename, "UTF-8") +
-                "&source_user_id=" + java.net.URLEncoder.encode(sourceUserId, "UTF-8") +
-                "&source_timestamp=" + sourceTimestamp;
-            
-            java.net.URL url = new java.net.URL(urlString);
-            java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            
-            if (conn.getResponseCode() == 200) {
-                java.io.File outputFile = new java.io.File(saveDir, filename);
-                
-                // Create parent directories if they don't exist
-                outputFile.getParentFile().mkdirs();
-                
-                java.io.InputStream inputStream = conn.getInputStream();
-                java.io.FileOutputStream outputStream = new java.io.FileOutputStream(outputFile);
-                
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                
-                inputStream.close();
-                outputStream.close();
-                return true;
-            }
-        } catch (Exception e) {
-            android.util.Log.e("CloudSave", "Error downloading from source: " + e.getMessage());
-        }
-        return false;
     }
     
     private void showRatingDialog(String saveId, String playerName, float progress) {
@@ -3485,48 +3487,32 @@ public class DownloadSaveActivity extends Activity {
     }
     
     private void submitRatingAndContinue(String saveId, boolean isLike, String comment) {
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                
-                String postData = "{\"save_id\":\"" + saveId + "\"," +
-                    "\"is_like\":" + isLike + "," +
-                    "\"comment\":\"" + comment.replace("\"", "\\\"") + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
-                
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/rate");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                int responseCode = conn.getResponseCode();
-                
-                runOnUiThread(() -> {
-                    if (responseCode == 200) {
-                        Toast.makeText(this, "✅ Rating submitted! Thank you for helping the community.", Toast.LENGTH_LONG).show();
-                        
-                        // Store in rating history
-                        storeRatingHistory(saveId, isLike, comment);
-                    } else {
-                        Toast.makeText(this, "Rating submitted", Toast.LENGTH_SHORT).show();
-                    }
-                    
-                    clearPendingRating();
-                });
-            } catch (Exception e) {
-                android.util.Log.w("DownloadSave", "Failed to submit rating: " + e.getMessage());
-                runOnUiThread(() -> {
-                    clearPendingRating();
-                });
+        // History reads the pending download details, so it is written
+        // before they are cleared and not left to a callback that may never
+        // run once this screen is gone
+        storeRatingHistory(saveId, isLike, comment);
+        // Once queued the rating is no longer pending, even if it is not sent yet
+        clearPendingRating();
+        RatingHistoryStore.getInstance(this).putOwnComment(saveId, comment, isLike, null);
+        
+        mutations.submit(MutationQueue.Mutation.rate(saveId, isLike, comment), screenToken, new MutationQueue.Callback() {
+            @Override
+            public void onSent() {
+                Toast.makeText(DownloadSaveActivity.this, "✅ Rating submitted! Thank you for helping the community.", Toast.LENGTH_LONG).show();
+            }
+            
+            @Override
+            public void onRejected(int code) {
+                android.util.Log.w("DownloadSave", "Rating refused with HTTP " + code);
+                RatingHistoryStore.getInstance(DownloadSaveActivity.this).forgetOwnComment(saveId);
+                Toast.makeText(DownloadSaveActivity.this, "Rating submitted", Toast.LENGTH_SHORT).show();
+            }
+            
+            @Override
+            public void onDeferred() {
+                showQueuedOffline();
             }
-        }).start();
+        });
     }
     
     private void clearPendingRating() {
@@ -3542,7 +3528,12 @@ public class DownloadSaveActivity extends Activity {
     
     private void openMyActivity() {
         Intent intent = new Intent(this, MyRatingActivity.class);
-        startActivity(intent);
+        // MyRatingActivity still reads the legacy history list
+        RatingHistoryStore store = RatingHistoryStore.getInstance(this);
+        tasks.execute(TaskExecutor.PRIORITY_ACTION, screenToken, () -> {
+            store.syncLegacy();
+            runOnUi(() -> startActivity(intent));
+        });
     }
     
     private String getTimeAgo(long timeDiff) {
@@ -3564,84 +3555,37 @@ public class DownloadSaveActivity extends Activity {
     
     private void storeRatingHistory(String saveId, boolean isLike, String comment) {
         android.content.SharedPreferences prefs = getSharedPreferences("cloudsave", MODE_PRIVATE);
-        String gameName = prefs.getString("last_downloaded_game", "Unknown Game");
-        String playerName = prefs.getString("last_downloaded_player", "Unknown Player");
-        float progress = prefs.getFloat("last_downloaded_progress", 0.0f);
-        long downloadTime = prefs.getLong("last_downloaded_time", System.currentTimeMillis());
-        
-        // Get existing history
-        String existingHistory = prefs.getString("rating_history", "");
-        
-        // Create new entry
-        String newEntry = saveId + "|" + gameName + "|" + playerName + "|" + progress + "|" + 
-                         downloadTime + "|" + isLike + "|" + comment.replace("|", "") + "|" + System.currentTimeMillis();
-        
-        // Add to history (keep last 20 entries)
-        String updatedHistory;
-        if (existingHistory.isEmpty()) {
-            updatedHistory = newEntry;
-        } else {
-            String[] entries = existingHistory.split("\\n");
-            StringBuilder sb = new StringBuilder();
-            sb.append(newEntry).append("\n");
-            
-            // Keep last 19 entries
-            for (int i = 0; i < Math.min(19, entries.length); i++) {
-                sb.append(entries[i]).append("\n");
-            }
-            updatedHistory = sb.toString();
-        }
-        
-        prefs.edit().putString("rating_history", updatedHistory).apply();
+        RatingHistoryStore.Entry entry = new RatingHistoryStore.Entry();
+        entry.saveId = saveId;
+        entry.gameName = prefs.getString("last_downloaded_game", "Unknown Game");
+        entry.playerName = prefs.getString("last_downloaded_player", "Unknown Player");
+        entry.progress = prefs.getFloat("last_downloaded_progress", 0.0f);
+        entry.downloadTime = prefs.getLong("last_downloaded_time", System.currentTimeMillis());
+        entry.isLike = isLike;
+        entry.comment = comment;
+        entry.ratedAt = System.currentTimeMillis();
+        RatingHistoryStore.getInstance(this).add(entry);
     }
     
     private void storeRatingInActivity(String saveId, boolean isLike, String comment) {
-        android.content.SharedPreferences prefs = getSharedPreferences("cloudsave", MODE_PRIVATE);
-        String existingHistory = prefs.getString("rating_history", "");
-        
         // Create entry for community rating
-        String newEntry = saveId + "|Community Save|Community Player|0.0|" + 
-                         System.currentTimeMillis() + "|" + isLike + "|" + comment.replace("|", "") + "|" + System.currentTimeMillis();
-        
-        String updatedHistory;
-        if (existingHistory.isEmpty()) {
-            updatedHistory = newEntry;
-        } else {
-            String[] entries = existingHistory.split("\\n");
-            StringBuilder sb = new StringBuilder();
-            sb.append(newEntry).append("\n");
-            
-            for (int i = 0; i < Math.min(19, entries.length); i++) {
-                sb.append(entries[i]).append("\n");
-            }
-            updatedHistory = sb.toString();
-        }
-        
-        prefs.edit().putString("rating_history", updatedHistory).apply();
+        RatingHistoryStore.Entry entry = new RatingHistoryStore.Entry();
+        entry.saveId = saveId;
+        entry.gameName = "Community Save";
+        entry.playerName = "Community Player";
+        entry.downloadTime = System.currentTimeMillis();
+        entry.isLike = isLike;
+        entry.comment = comment;
+        entry.ratedAt = entry.downloadTime;
+        RatingHistoryStore.getInstance(this).add(entry);
     }
     
     private boolean isBackupInTop10(String timestamp, float progress) {
-        // Find the backup by timestamp and return its top10 status from API
-        for (int i = 0; i < uploadedFolders.size(); i++) {
-            String folderName = uploadedFolders.get(i);
-            String folderTimestamp = folderName.substring(folderName.lastIndexOf("_") + 1);
-            if (folderTimestamp.equals(timestamp)) {
-                return i < folderTop10Status.size() ? folderTop10Status.get(i) : false;
-            }
-        }
-        return false;
+        return backups.isTop10(timestamp);
     }
     
     private boolean isBackupShared(String timestamp) {
-        // Find the backup by timestamp and return its shared status from API
-        for (int i = 0; i < uploadedFolders.size(); i++) {
-            String folderName = uploadedFolders.get(i);
-            String folderTimestamp = folderName.substring(folderName.lastIndexOf("_") + 1);
-            if (folderTimestamp.equals(timestamp)) {
-                return i < folderSharedStatus.size() ? folderSharedStatus.get(i) : false;
-            }
-        }
-        return false;
+        return backups.isShared(timestamp);
     }
     
     private void showMagicalCelebration(String timestamp, float progress) {
@@ -3763,46 +3707,39 @@ public class DownloadSaveActivity extends Activity {
     private void performShareBackup(String timestamp) {
         Toast.makeText(this, "Sharing with community...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
-            try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                String gameId = extractPackageName(selectedGame);
-                
-                String postData = "{\"game_id\":\"" + gameId + "\"," +
-                    "\"folder_timestamp\":\"" + timestamp + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
-                
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/share-backup");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                int responseCode = conn.getResponseCode();
-                
-                runOnUiThread(() -> {
-                    if (responseCode == 200) {
-                        Toast.makeText(this, "✅ Backup shared with community!", Toast.LENGTH_LONG).show();
-                        // Refresh the folder list to update button states
-                        folderListLayout.removeAllViews();
-                        loadUploadedFolders();
-                    } else {
-                        Toast.makeText(this, "Failed to share backup", Toast.LENGTH_SHORT).show();
-                    }
-                });
-                
-            } catch (Exception e) {
-                runOnUiThread(() -> {
-                    Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                });
+        String gameId = extractPackageName(selectedGame);
+        BackupRegistry previous = backups;
+        BackupRegistry optimistic = previous;
+        BackupEntry entry = previous.find(timestamp);
+        if (entry != null) {
+            // Switch the card to its shared buttons right away
+            BackupEntry shared = entry.copy();
+            shared.isShared = true;
+            optimistic = previous.with(shared);
+            applyBackups(gameId, optimistic);
+        }
+        final BackupRegistry finalOptimistic = optimistic;
+        
+        mutations.submit(MutationQueue.Mutation.shareBackup(gameId, timestamp), screenToken, new MutationQueue.Callback() {
+            @Override
+            public void onSent() {
+                // The save may now rank in the community lists
+                communityCache.invalidate(gameId);
+                reconcileBackups(gameId);
+                Toast.makeText(DownloadSaveActivity.this, "✅ Backup shared with community!", Toast.LENGTH_LONG).show();
+            }
+            
+            @Override
+            public void onRejected(int code) {
+                rollbackBackups(gameId, finalOptimistic, previous);
+                Toast.makeText(DownloadSaveActivity.this, "Failed to share backup", Toast.LENGTH_SHORT).show();
+            }
+            
+            @Override
+            public void onDeferred() {
+                showQueuedOffline();
             }
-        }).start();
+        });
     }
     
     private void showAllTop10Celebration(int top10Count) {
@@ -3900,11 +3837,47 @@ public class DownloadSaveActivity extends Activity {
         }, 2500);
     }
     
+    @Override
+    protected void onResume() {
+        super.onResume();
+        RestoreService.attach(restoreListener);
+        // Changes left over from a previous run, or waiting out a backoff
+        mutations.flush();
+    }
+    
+    @Override
+    protected void onPause() {
+        RestoreService.detach(restoreListener);
+        // Report downloads while the app is still in the foreground
+        TelemetryBatcher.getInstance(this).flush();
+        RatingHistoryStore history = RatingHistoryStore.getInstance(this);
+        tasks.execute(TaskExecutor.PRIORITY_BACKGROUND, null, history::syncLegacy);
+        super.onPause();
+    }
+    
+    @Override
+    protected void onDestroy() {
+        screenToken.cancel();
+        super.onDestroy();
+    }
+    
+    // Background results are dropped once the activity is gone
+    private void runOnUi(Runnable action) {
+        runOnUiThread(() -> {
+            if (!screenToken.isCancelled()) {
+                action.run();
+            }
+        });
+    }
+    
     @Override
     public void onBackPressed() {
         if (showingFolders) {
             // Go back to games list
             showingFolders = false;
+            // Listings still queued for this game are no longer wanted
+            gameToken.cancel();
+            resetPaging();
             gamesContainer.setVisibility(LinearLayout.VISIBLE);
             foldersContainer.setVisibility(LinearLayout.GONE);
             
@@ -3920,11 +3893,9 @@ public class DownloadSaveActivity extends Activity {
             }
             
             // Clear folder data
-            folderListLayout.removeAllViews();
-            uploadedFolders.clear();
-            folderProgress.clear();
-            folderTop10Status.clear();
-            folderSharedStatus.clear();
+            folderAdapter.clear();
+            expandedCards.clear();
+            backups = new BackupRegistry();
         } else {
             super.onBackPressed();
         }
@@ -4000,12 +3971,12 @@ public class DownloadSaveActivity extends Activity {
         rootView.addView(progressOverlay, overlayParams);
     }
     
-    private void updateProgress(int percentage, String message, int current, int total) {
+    private void updateProgress(int percentage, String message, int current, int total, String transfer) {
         if (progressOverlay == null) return;
         
         progressPercentage.setText(percentage + "%");
         progressBar.setProgress(percentage);
-        progressText.setText(message + "\n(" + current + "/" + total + " files)");
+        progressText.setText(message + "\n(" + current + "/" + total + " files)\n" + transfer);
     }
     
     private void hideProgressOverlay() {
@@ -4035,45 +4006,43 @@ public class DownloadSaveActivity extends Activity {
     public void performRefreshBackup(String timestamp) {
         Toast.makeText(this, "Refreshing backup...", Toast.LENGTH_SHORT).show();
         
-        new Thread(() -> {
+        String gameId = extractPackageName(selectedGame);
+        BackupRegistry previous = backups;
+        BackupRegistry optimistic = previous;
+        BackupEntry entry = previous.find(timestamp);
+        if (entry != null) {
+            // A refresh extends the backup by a month
+            BackupEntry refreshed = entry.copy();
+            refreshed.daysRemaining = 30;
+            refreshed.isExpired = false;
+            optimistic = previous.with(refreshed);
+            applyBackups(gameId, optimistic);
+        }
+        final BackupRegistry finalOptimistic = optimistic;
+        
+        tasks.execute(TaskExecutor.PRIORITY_ACTION, screenToken, () -> {
             try {
-                String packageName = getPackageName();
-                String deviceInfo = android.provider.Settings.Secure.getString(getContentResolver(), android.provider.Settings.Secure.ANDROID_ID);
-                String gameId = extractPackageName(selectedGame);
-                
-                String postData = "{\"game_id\":\"" + gameId + "\"," +
-                    "\"folder_timestamp\":\"" + timestamp + "\"," +
-                    "\"package_name\":\"" + packageName + "\"," +
-                    "\"device_info\":\"" + deviceInfo + "\"}";
+                int responseCode = apiClient.refreshBackup(gameId, timestamp).code;
                 
-                java.net.URL url = new java.net.URL(CloudSaveConfig.getApiUrl() + "/api/saves/refresh-backup");
-                java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                conn.setRequestMethod("POST");
-                conn.setRequestProperty("Content-Type", "application/json");
-                conn.setDoOutput(true);
-                
-                java.io.OutputStream os = conn.getOutputStream();
-                os.write(postData.getBytes());
-                os.close();
-                
-                int responseCode = conn.getResponseCode();
+                if (responseCode == 200) {
+                    reconcileBackups(gameId);
+                }
                 
-                runOnUiThread(() -> {
+                runOnUi(() -> {
                     if (responseCode == 200) {
                         Toast.makeText(this, "✅ Backup refreshed! Extended for 1 month.", Toast.LENGTH_LONG).show();
-                        // Refresh the folder list
-                        folderListLayout.removeAllViews();
-                        loadUploadedFolders();
                     } else {
+                        rollbackBackups(gameId, finalOptimistic, previous);
                         Toast.makeText(this, "Failed to refresh backup", Toast.LENGTH_SHORT).show();
                     }
                 });
                 
             } catch (Exception e) {
-                runOnUiThread(() -> {
+                runOnUi(() -> {
+                    rollbackBackups(gameId, finalOptimistic, previous);
                     Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 });
             }
-        }).start();
+        });
     }
 }
@@ -0,0 +1,138 @@
+package org.renpy.android.cloudsave;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+// Disk cache of GET response bodies keyed by URL. Each entry keeps the
+// ETag/Last-Modified validators so the client can revalidate with a
+// conditional request and reuse the body on 304.
+public class HttpDiskCache {
+    private final File dir;
+    private final long maxBytes;
+
+    public static class Entry {
+        final File file;
+        final String etag;
+        final String lastModified;
+
+        Entry(File file, String etag, String lastModified) {
+            this.file = file;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        // Stream positioned at the start of the cached body
+        public InputStream openBody() throws IOException {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            in.readUTF();
+            in.readUTF();
+            return in;
+        }
+    }
+
+    // Collects a response body and publishes it atomically on commit()
+    public class Editor {
+        private final File target;
+        private final File tmp;
+        final OutputStream body;
+
+        Editor(File target, String etag, String lastModified) throws IOException {
+            this.target = target;
+            this.tmp = new File(dir, target.getName() + "." + Thread.currentThread().getId() + ".tmp");
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            out.writeUTF(etag != null ? etag : "");
+            out.writeUTF(lastModified != null ? lastModified : "");
+            this.body = out;
+        }
+
+        public void commit() throws IOException {
+            body.close();
+            if (!tmp.renameTo(target)) {
+                tmp.delete();
+                throw new IOException("Cannot publish cache entry " + target);
+            }
+            trim();
+        }
+
+        public void abort() {
+            try {
+                body.close();
+            } catch (IOException e) {
+                // Deleted below either way
+            }
+            tmp.delete();
+        }
+    }
+
+    public HttpDiskCache(File dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        dir.mkdirs();
+    }
+
+    public Entry get(String url) {
+        File file = fileFor(url);
+        if (!file.isFile()) return null;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            String etag = in.readUTF();
+            String lastModified = in.readUTF();
+            // Touch so trim() evicts the least recently used entries first
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(file, etag.isEmpty() ? null : etag, lastModified.isEmpty() ? null : lastModified);
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    public Editor edit(String url, String etag, String lastModified) throws IOException {
+        return new Editor(fileFor(url), etag, lastModified);
+    }
+
+    public void remove(String url) {
+        fileFor(url).delete();
+    }
+
+    private synchronized void trim() {
+        File[] files = dir.listFiles();
+        if (files == null) return;
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxBytes) return;
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (total <= maxBytes) break;
+            if (file.getName().endsWith(".tmp")) continue;
+            total -= file.length();
+            file.delete();
+        }
+    }
+
+    private File fileFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes("UTF-8"));
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest) {
+                name.append(String.format("%02x", b));
+            }
+            return new File(dir, name.toString());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            // SHA-1 and UTF-8 are always available
+            return new File(dir, String.valueOf(url.hashCode()));
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package org.renpy.android.cloudsave;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Outbound queue for ratings, comments and shares. Each
+// change is stored before it is sent, so it survives a dead connection or a
+// killed process, and is retried with backoff until the server answers.
+// A change that a newer one for the same target makes pointless is merged
+// into it before it ever leaves the device.
+public class MutationQueue {
+    private static final String QUEUE_KEY = "mutation_queue";
+
+    private static final long BASE_DELAY_MS = 2000;
+    private static final long MAX_DELAY_MS = 5 * 60 * 1000;
+    // A change the server keeps failing on must not block the others forever.
+    // Only answers from the server count; without a connection a change
+    // waits for as long as it takes.
+    private static final int MAX_ATTEMPTS = 10;
+
+    public static final String RATE = "rate";
+    public static final String UPDATE_RATING = "update_rating";
+    public static final String DELETE_RATING = "delete_rating";
+    public static final String SHARE_BACKUP = "share_backup";
+
+    private static MutationQueue instance;
+
+    public static class Mutation {
+        final String id;
+        final String kind;
+        // save_id for ratings, game_id and folder_timestamp for shares
+        final String saveId;
+        final String gameId;
+        final String folderTimestamp;
+        final boolean isLike;
+        final String comment;
+        int attempts;
+
+        Mutation(String id, String kind, String saveId, String gameId, String folderTimestamp,
+                 boolean isLike, String comment) {
+            this.id = id;
+            this.kind = kind;
+            this.saveId = saveId;
+            this.gameId = gameId;
+            this.folderTimestamp = folderTimestamp;
+            this.isLike = isLike;
+            this.comment = comment;
+        }
+
+        public static Mutation rate(String saveId, boolean isLike, String comment) {
+            return new Mutation(newId(), RATE, saveId, null, null, isLike, comment);
+        }
+
+        public static Mutation updateRating(String saveId, boolean isLike, String comment) {
+            return new Mutation(newId(), UPDATE_RATING, saveId, null, null, isLike, comment);
+        }
+
+        public static Mutation deleteRating(String saveId) {
+            return new Mutation(newId(), DELETE_RATING, saveId, null, null, false, null);
+        }
+
+        public static Mutation shareBackup(String gameId, String folderTimestamp) {
+            return new Mutation(newId(), SHARE_BACKUP, null, gameId, folderTimestamp, false, null);
+        }
+
+        // Changes with the same target may replace each other
+        String target() {
+            switch (kind) {
+                case RATE:
+                case UPDATE_RATING:
+                case DELETE_RATING:
+                    return "rating:" + saveId;
+                case SHARE_BACKUP:
+                    return "share:" + gameId + ":" + folderTimestamp;
+                default:
+                    return null;
+            }
+        }
+
+        private Mutation as(String newKind) {
+            Mutation merged = new Mutation(id, newKind, saveId, gameId, folderTimestamp, isLike, comment);
+            merged.attempts = attempts;
+            return merged;
+        }
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("id", id);
+            json.put("kind", kind);
+            json.putOpt("save_id", saveId);
+            json.putOpt("game_id", gameId);
+            json.putOpt("folder_timestamp", folderTimestamp);
+            json.put("is_like", isLike);
+            json.putOpt("comment", comment);
+            json.put("attempts", attempts);
+            return json;
+        }
+
+        static Mutation fromJson(JSONObject json) {
+            Mutation mutation = new Mutation(json.optString("id"), json.optString("kind"),
+                optString(json, "save_id"), optString(json, "game_id"), optString(json, "folder_timestamp"),
+                json.optBoolean("is_like"), optString(json, "comment"));
+            mutation.attempts = json.optInt("attempts");
+            return mutation;
+        }
+
+        private static String optString(JSONObject json, String name) {
+            return json.has(name) ? json.optString(name) : null;
+        }
+
+        private static String newId() {
+            return Long.toString(System.currentTimeMillis(), 36) + "-" + Integer.toString(new Random().nextInt(), 36);
+        }
+    }
+
+    // Called on the main thread, and only while the token passed with the
+    // change is not cancelled
+    public interface Callback {
+        // The server accepted the change, or it cancelled out with a pending one
+        void onSent();
+
+        // The server refused the change; it is dropped
+        void onRejected(int code);
+
+        // The first attempt failed on the connection or the server; the change
+        // stays queued and onSent or onRejected follows once it goes through
+        void onDeferred();
+    }
+
+    private static class Pending {
+        final TaskExecutor.Token token;
+        final Callback callback;
+        // Guarded by the queue; onDeferred is only delivered once
+        boolean deferred;
+
+        Pending(TaskExecutor.Token token, Callback callback) {
+            this.token = token;
+            this.callback = callback;
+        }
+    }
+
+    private final Context context;
+    private final CloudSaveApiClient apiClient;
+    private final TaskExecutor tasks = TaskExecutor.getInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Random jitter = new Random();
+
+    // Guarded by this
+    private final List<Mutation> queue;
+    private final Map<String, Pending> callbacks = new HashMap<>();
+    private String inFlight;
+    private boolean draining;
+    private int failures;
+
+    private final Runnable retry = this::flush;
+
+    private MutationQueue(Context context) {
+        this.context = context.getApplicationContext();
+        this.apiClient = CloudSaveApiClient.getInstance(this.context);
+        this.queue = readQueue();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            ConnectivityManager connectivity =
+                (ConnectivityManager) this.context.getSystemService(Context.CONNECTIVITY_SERVICE);
+            connectivity.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    // Back online, so the backoff no longer says anything
+                    synchronized (MutationQueue.this) {
+                        if (queue.isEmpty()) return;
+                        failures = 0;
+                    }
+                    mainHandler.removeCallbacks(retry);
+                    flush();
+                }
+            });
+        }
+    }
+
+    public static synchronized MutationQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new MutationQueue(context);
+        }
+        return instance;
+    }
+
+    // Stores the change and sends it as soon as the connection allows.
+    // callback and token may be null when nobody waits for the outcome.
+    public void submit(Mutation mutation, TaskExecutor.Token token, Callback callback) {
+        boolean cancelledOut;
+        synchronized (this) {
+            cancelledOut = !merge(mutation);
+            if (!cancelledOut && callback != null) {
+                callbacks.put(mutation.id, new Pending(token, callback));
+            }
+            writeQueue();
+        }
+        if (cancelledOut && callback != null) {
+            deliver(new Pending(token, callback), Callback::onSent);
+        }
+        flush();
+    }
+
+    // Sends whatever is queued, one change after the other over the pooled
+    // connection. A drain that is already running picks up new changes.
+    public void flush() {
+        synchronized (this) {
+            if (queue.isEmpty() || draining) return;
+            draining = true;
+        }
+        tasks.execute(TaskExecutor.PRIORITY_ACTION, null, this::drain);
+    }
+
+    // Folds mutation into a queued change with the same target. Returns false
+    // when the two cancel out and nothing needs to be sent. The change being
+    // sent right now is never touched, the server may already have it.
+    private boolean merge(Mutation mutation) {
+        String target = mutation.target();
+        if (target != null) {
+            Iterator<Mutation> it = queue.iterator();
+            while (it.hasNext()) {
+                Mutation queued = it.next();
+                if (queued.id.equals(inFlight) || !target.equals(queued.target())) continue;
+                it.remove();
+                callbacks.remove(queued.id);
+                android.util.Log.d("CloudSave", "Merged " + queued.kind + " into " + mutation.kind + " for " + target);
+
+                Mutation merged = supersede(queued, mutation);
+                if (merged == null) return false;
+                queue.add(merged);
+                return true;
+            }
+        }
+        queue.add(mutation);
+        return true;
+    }
+
+    // What is left to send of queued followed by next, null for nothing
+    private static Mutation supersede(Mutation queued, Mutation next) {
+        if (RATE.equals(queued.kind)) {
+            // The server never saw the rating: take it back for nothing, or
+            // create it with the newest values straight away
+            if (DELETE_RATING.equals(next.kind)) return null;
+            return next.as(RATE);
+        }
+        if (DELETE_RATING.equals(queued.kind) && RATE.equals(next.kind)) {
+            // The server still has the old rating, so overwrite it
+            return next.as(UPDATE_RATING);
+        }
+        return next;
+    }
+
+    private void drain() {
+        while (true) {
+            Mutation mutation;
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                mutation = queue.get(0);
+                inFlight = mutation.id;
+            }
+
+            int code;
+            try {
+                code = send(mutation);
+            } catch (IOException e) {
+                android.util.Log.w("CloudSave", "Could not send " + mutation.kind + ": " + e.getMessage());
+                code = -1;
+            }
+
+            Pending pending;
+            boolean keep;
+            synchronized (this) {
+                inFlight = null;
+                if (code != -1) {
+                    mutation.attempts++;
+                }
+                boolean retryable = code == 408 || code == 429 || code >= 500;
+                keep = code == -1 || (retryable && mutation.attempts < MAX_ATTEMPTS);
+                if (keep) {
+                    // Most likely offline, so the rest would fail as well
+                    failures++;
+                    draining = false;
+                    pending = callbacks.get(mutation.id);
+                    if (pending != null && pending.deferred) {
+                        pending = null;
+                    } else if (pending != null) {
+                        pending.deferred = true;
+                    }
+                } else {
+                    failures = 0;
+                    queue.remove(mutation);
+                    pending = callbacks.remove(mutation.id);
+                }
+                writeQueue();
+            }
+
+            if (keep) {
+                if (pending != null) {
+                    deliver(pending, Callback::onDeferred);
+                }
+                scheduleRetry();
+                return;
+            }
+            if (code >= 200 && code < 300) {
+                if (pending != null) {
+                    deliver(pending, Callback::onSent);
+                }
+            } else {
+                android.util.Log.w("CloudSave", "Dropping " + mutation.kind + " after HTTP " + code
+                    + " on attempt " + mutation.attempts);
+                final int refused = code;
+                if (pending != null) {
+                    deliver(pending, c -> c.onRejected(refused));
+                }
+            }
+        }
+    }
+
+    private int send(Mutation mutation) throws IOException {
+        switch (mutation.kind) {
+            case RATE:
+                return apiClient.rate(mutation.saveId, mutation.isLike, mutation.comment).code;
+            case UPDATE_RATING:
+                return apiClient.updateRating(mutation.saveId, mutation.isLike, mutation.comment).code;
+            case DELETE_RATING:
+                return apiClient.deleteRating(mutation.saveId).code;
+            case SHARE_BACKUP:
+                return apiClient.shareBackup(mutation.gameId, mutation.folderTimestamp).code;
+            default:
+                // Stored by another version of the app; treat as refused
+                return 400;
+        }
+    }
+
+    // Exponential backoff with full jitter, so devices that lost the same
+    // connection do not all come back at the same moment
+    private void scheduleRetry() {
+        long delay;
+        synchronized (this) {
+            long ceiling = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(failures - 1, 16));
+            delay = BASE_DELAY_MS / 2 + (long) (jitter.nextDouble() * ceiling);
+        }
+        android.util.Log.d("CloudSave", "Retrying queued changes in " + delay + " ms");
+        mainHandler.removeCallbacks(retry);
+        mainHandler.postDelayed(retry, delay);
+    }
+
+    private interface Delivery {
+        void to(Callback callback);
+    }
+
+    private void deliver(Pending pending, Delivery delivery) {
+        mainHandler.post(() -> {
+            if (pending.token != null && pending.token.isCancelled()) return;
+            delivery.to(pending.callback);
+        });
+    }
+
+    private List<Mutation> readQueue() {
+        List<Mutation> stored = new ArrayList<>();
+        String json = context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE).getString(QUEUE_KEY, "[]");
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                stored.add(Mutation.fromJson(array.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            android.util.Log.w("CloudSave", "Dropping unreadable mutation queue: " + e.getMessage());
+        }
+        return stored;
+    }
+
+    // Caller holds the lock
+    private void writeQueue() {
+        JSONArray array = new JSONArray();
+        try {
+            for (Mutation mutation : queue) {
+                array.put(mutation.toJson());
+            }
+        } catch (JSONException e) {
+            android.util.Log.w("CloudSave", "Cannot store mutation queue: " + e.getMessage());
+        }
+        // apply() keeps the disk write off the tapping thread; writes are
+        // made under the lock, so the last one on disk is the newest queue
+        context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE).edit()
+            .putString(QUEUE_KEY, array.toString()).apply();
+    }
+}
@@ -0,0 +1,299 @@
+package org.renpy.android.cloudsave;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The user's ratings of downloaded and community saves, for My Activity.
+// One row per rating, appended without touching the others and looked up
+// by save or game through an index. Only the newest MAX_ENTRIES are kept.
+//
+// Next to it sits an index of the user's own comment per save, so posting
+// a comment does not need the save's whole comment list to find out
+// whether there is one already.
+public class RatingHistoryStore extends SQLiteOpenHelper {
+    private static final String DB_NAME = "rating_history.db";
+    private static final int DB_VERSION = 2;
+    private static final int MAX_ENTRIES = 500;
+    // "No comment" may have changed on another device, so it is trusted
+    // for a day; a known comment stays until this device changes it
+    private static final long NO_COMMENT_TTL_MS = 24 * 60 * 60 * 1000;
+
+    // The pipe-delimited list this store replaces. MyRatingActivity still
+    // reads it, so syncLegacy() rebuilds it from the newest LEGACY_ENTRIES
+    // until that screen moves over to this store.
+    private static final String LEGACY_KEY = "rating_history";
+    private static final int LEGACY_ENTRIES = 20;
+
+    private static RatingHistoryStore instance;
+
+    public static class Entry {
+        public long id;
+        public String saveId;
+        public String gameName;
+        public String playerName;
+        public float progress;
+        public long downloadTime;
+        public boolean isLike;
+        public String comment;
+        public long ratedAt;
+    }
+
+    public static class OwnComment {
+        public final String saveId;
+        // Null when the user is known to have no comment on the save
+        public final String comment;
+        public final boolean isLike;
+        // Null when the server did not say
+        public final String commentId;
+
+        OwnComment(String saveId, String comment, boolean isLike, String commentId) {
+            this.saveId = saveId;
+            this.comment = comment;
+            this.isLike = isLike;
+            this.commentId = commentId;
+        }
+    }
+
+    private final Context context;
+    // Set by add() until syncLegacy() has written the list again
+    private volatile boolean legacyStale;
+
+    private RatingHistoryStore(Context context) {
+        super(context.getApplicationContext(), DB_NAME, null, DB_VERSION);
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized RatingHistoryStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new RatingHistoryStore(context);
+        }
+        return instance;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE ratings ("
+            + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "save_id TEXT NOT NULL, "
+            + "game_name TEXT, "
+            + "player_name TEXT, "
+            + "progress REAL, "
+            + "download_time INTEGER, "
+            + "is_like INTEGER, "
+            + "comment TEXT, "
+            + "rated_at INTEGER)");
+        db.execSQL("CREATE INDEX ratings_save ON ratings (save_id)");
+        db.execSQL("CREATE INDEX ratings_game ON ratings (game_name, rated_at)");
+        createOwnComments(db);
+        importLegacy(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            createOwnComments(db);
+        }
+    }
+
+    private static void createOwnComments(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE own_comments ("
+            + "save_id TEXT PRIMARY KEY, "
+            + "comment TEXT, "
+            + "is_like INTEGER, "
+            + "comment_id TEXT, "
+            + "updated_at INTEGER)");
+    }
+
+    // Appends on the background pool; the caller never waits for the disk
+    public void add(Entry entry) {
+        TaskExecutor.getInstance().execute(TaskExecutor.PRIORITY_BACKGROUND, null, () -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.insert("ratings", null, values(entry));
+            // Ids only grow, so everything below the newest MAX_ENTRIES goes
+            db.delete("ratings", "id <= (SELECT MAX(id) FROM ratings) - ?",
+                new String[]{String.valueOf(MAX_ENTRIES)});
+            legacyStale = true;
+        });
+    }
+
+    // Newest first. These read the disk, so call them off the main thread.
+    public List<Entry> recent(int limit) {
+        return query(null, null, limit);
+    }
+
+    public List<Entry> forSave(String saveId) {
+        return query("save_id = ?", new String[]{saveId}, 0);
+    }
+
+    public List<Entry> forGame(String gameName, int limit) {
+        return query("game_name = ?", new String[]{gameName}, limit);
+    }
+
+    private List<Entry> query(String selection, String[] args, int limit) {
+        List<Entry> entries = new ArrayList<>();
+        try (Cursor cursor = getReadableDatabase().query("ratings", null, selection, args, null, null,
+                "rated_at DESC, id DESC", limit > 0 ? String.valueOf(limit) : null)) {
+            while (cursor.moveToNext()) {
+                Entry entry = new Entry();
+                entry.id = cursor.getLong(cursor.getColumnIndexOrThrow("id"));
+                entry.saveId = cursor.getString(cursor.getColumnIndexOrThrow("save_id"));
+                entry.gameName = cursor.getString(cursor.getColumnIndexOrThrow("game_name"));
+                entry.playerName = cursor.getString(cursor.getColumnIndexOrThrow("player_name"));
+                entry.progress = cursor.getFloat(cursor.getColumnIndexOrThrow("progress"));
+                entry.downloadTime = cursor.getLong(cursor.getColumnIndexOrThrow("download_time"));
+                entry.isLike = cursor.getInt(cursor.getColumnIndexOrThrow("is_like")) != 0;
+                entry.comment = cursor.getString(cursor.getColumnIndexOrThrow("comment"));
+                entry.ratedAt = cursor.getLong(cursor.getColumnIndexOrThrow("rated_at"));
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    // Returns null when the index cannot tell, then only the server knows.
+    // Reads the disk, so call it off the main thread.
+    public OwnComment findOwnComment(String saveId) {
+        try (Cursor cursor = getReadableDatabase().query("own_comments",
+                new String[]{"comment", "is_like", "comment_id", "updated_at"},
+                "save_id = ?", new String[]{saveId}, null, null, null)) {
+            if (!cursor.moveToFirst()) return null;
+            String comment = cursor.isNull(0) ? null : cursor.getString(0);
+            if (comment == null && System.currentTimeMillis() - cursor.getLong(3) > NO_COMMENT_TTL_MS) {
+                return null;
+            }
+            return new OwnComment(saveId, comment, cursor.getInt(1) != 0, cursor.isNull(2) ? null : cursor.getString(2));
+        }
+    }
+
+    // What the server now has after a change made on this device.
+    // comment null records that there is none.
+    public void putOwnComment(String saveId, String comment, boolean isLike, String commentId) {
+        List<OwnComment> changed = new ArrayList<>();
+        changed.add(new OwnComment(saveId, comment, isLike, commentId));
+        writeOwnComments(changed, System.currentTimeMillis());
+    }
+
+    // Leaves the answer to the server again, e.g. after it refused a change
+    public void forgetOwnComment(String saveId) {
+        TaskExecutor.getInstance().execute(TaskExecutor.PRIORITY_BACKGROUND, null, () ->
+            getWritableDatabase().delete("own_comments", "save_id = ?", new String[]{saveId}));
+    }
+
+    // What a fresh server answer said. fetchedAt is when the request went
+    // out, so a change this device made after that is not overwritten.
+    public void rememberOwnComment(String saveId, String comment, boolean isLike, String commentId, long fetchedAt) {
+        List<OwnComment> found = new ArrayList<>();
+        found.add(new OwnComment(saveId, comment, isLike, commentId));
+        rememberOwnComments(found, fetchedAt);
+    }
+
+    // All own comments of one response, in one transaction
+    public void rememberOwnComments(List<OwnComment> found, long fetchedAt) {
+        if (found.isEmpty()) return;
+        writeOwnComments(found, fetchedAt);
+    }
+
+    private void writeOwnComments(List<OwnComment> comments, long asOf) {
+        TaskExecutor.getInstance().execute(TaskExecutor.PRIORITY_BACKGROUND, null, () -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.beginTransaction();
+            try {
+                for (OwnComment own : comments) {
+                    // Writes run on a pool and may overtake each other; the
+                    // newer one wins
+                    if (DatabaseUtils.queryNumEntries(db, "own_comments", "save_id = ? AND updated_at > ?",
+                            new String[]{own.saveId, String.valueOf(asOf)}) > 0) {
+                        continue;
+                    }
+                    ContentValues values = new ContentValues();
+                    values.put("save_id", own.saveId);
+                    if (own.comment != null) {
+                        values.put("comment", own.comment);
+                    }
+                    values.put("is_like", own.isLike ? 1 : 0);
+                    if (own.commentId != null) {
+                        values.put("comment_id", own.commentId);
+                    }
+                    values.put("updated_at", asOf);
+                    db.insertWithOnConflict("own_comments", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    private static ContentValues values(Entry entry) {
+        ContentValues values = new ContentValues();
+        values.put("save_id", entry.saveId);
+        values.put("game_name", entry.gameName);
+        values.put("player_name", entry.playerName);
+        values.put("progress", entry.progress);
+        values.put("download_time", entry.downloadTime);
+        values.put("is_like", entry.isLike ? 1 : 0);
+        values.put("comment", entry.comment);
+        values.put("rated_at", entry.ratedAt);
+        return values;
+    }
+
+    // Writes the legacy list once for any number of adds. Call it before
+    // MyRatingActivity opens and when the screen goes away; it reads the
+    // disk, so off the main thread.
+    public synchronized void syncLegacy() {
+        if (!legacyStale) return;
+        legacyStale = false;
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : recent(LEGACY_ENTRIES)) {
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            String comment = entry.comment != null ? entry.comment.replace("|", "") : "";
+            sb.append(entry.saveId).append('|').append(entry.gameName).append('|').append(entry.playerName)
+                .append('|').append(entry.progress).append('|').append(entry.downloadTime)
+                .append('|').append(entry.isLike).append('|').append(comment).append('|').append(entry.ratedAt);
+        }
+        context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE).edit()
+            .putString(LEGACY_KEY, sb.toString()).apply();
+    }
+
+    // Copies the old "save|game|player|progress|downloaded|like|comment|rated"
+    // lines over, oldest first so the ids keep their order. The list itself
+    // stays for MyRatingActivity.
+    private void importLegacy(SQLiteDatabase db) {
+        SharedPreferences prefs = context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE);
+        String legacy = prefs.getString(LEGACY_KEY, "");
+        if (legacy.isEmpty()) return;
+
+        String[] lines = legacy.split("\n");
+        int imported = 0;
+        for (int i = lines.length - 1; i >= 0; i--) {
+            String[] fields = lines[i].split("\\|", -1);
+            if (fields.length < 8) continue;
+            try {
+                Entry entry = new Entry();
+                entry.saveId = fields[0];
+                entry.gameName = fields[1];
+                entry.playerName = fields[2];
+                entry.progress = Float.parseFloat(fields[3]);
+                entry.downloadTime = Long.parseLong(fields[4]);
+                entry.isLike = Boolean.parseBoolean(fields[5]);
+                entry.comment = fields[6];
+                entry.ratedAt = Long.parseLong(fields[7]);
+                db.insert("ratings", null, values(entry));
+                imported++;
+            } catch (NumberFormatException e) {
+                android.util.Log.w("CloudSave", "Skipping unreadable rating history line: " + lines[i]);
+            }
+        }
+        android.util.Log.i("CloudSave", "Imported " + imported + " ratings from the preferences");
+    }
+}
@@ -0,0 +1,96 @@
+package org.renpy.android.cloudsave;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fetches the files of a backup with a bounded number of concurrent requests
+public class RestoreEngine {
+    public static final int DEFAULT_CONCURRENCY = 4;
+    private static final int MAX_CONCURRENCY = 8;
+
+    public interface FileFetcher {
+        boolean fetch(String filename) throws Exception;
+    }
+
+    public interface ProgressListener {
+        void onFileFinished(String filename, boolean success, int completed, int total);
+    }
+
+    public static class Result {
+        public final int total;
+        public final int succeeded;
+        public final List<String> failedFiles;
+
+        Result(int total, List<String> failedFiles) {
+            this.total = total;
+            this.succeeded = total - failedFiles.size();
+            this.failedFiles = failedFiles;
+        }
+
+        public boolean hasFailures() {
+            return !failedFiles.isEmpty();
+        }
+    }
+
+    private final int concurrency;
+
+    public RestoreEngine() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    public RestoreEngine(int concurrency) {
+        this.concurrency = Math.max(1, Math.min(MAX_CONCURRENCY, concurrency));
+    }
+
+    public Result run(List<String> files, FileFetcher fetcher, ProgressListener listener) throws InterruptedException {
+        final int total = files.size();
+        if (total == 0) {
+            return new Result(0, new ArrayList<>());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(concurrency, total));
+        AtomicInteger completed = new AtomicInteger();
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>(total);
+
+        try {
+            for (String filename : files) {
+                futures.add(pool.submit(() -> {
+                    boolean success;
+                    try {
+                        success = fetcher.fetch(filename);
+                    } catch (Exception e) {
+                        android.util.Log.e("CloudSave", "Restore failed for " + filename + ": " + e.getMessage());
+                        success = false;
+                    }
+                    if (!success) failed.add(filename);
+
+                    int done = completed.incrementAndGet();
+                    if (listener != null) {
+                        listener.onFileFinished(filename, success, done, total);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // Already recorded as a failed file by the task itself
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        synchronized (failed) {
+            return new Result(total, new ArrayList<>(failed));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.renpy.android.cloudsave;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collects file and byte progress from the restore workers in plain
+// counters and publishes it on the main thread at most ~15 times a second.
+// Workers never allocate or post per update; a pending publish simply reads
+// the latest counters when it runs.
+public class RestoreProgress {
+    private static final long MIN_INTERVAL_MS = 66;
+    // Weight of the newest sample in the smoothed transfer rate
+    private static final double RATE_SMOOTHING = 0.3;
+
+    // Called on the main thread
+    public interface Listener {
+        void onProgress(Snapshot snapshot);
+    }
+
+    public static class Snapshot {
+        public final String currentFile;
+        public final int filesDone;
+        public final int filesTotal;
+        public final long bytesDone;
+        // -1 when the server did not report every file size
+        public final long bytesTotal;
+        public final long bytesPerSecond;
+        // -1 while unknown
+        public final long etaSeconds;
+        public final boolean finished;
+
+        Snapshot(String currentFile, int filesDone, int filesTotal, long bytesDone, long bytesTotal,
+                 long bytesPerSecond, long etaSeconds, boolean finished) {
+            this.currentFile = currentFile;
+            this.filesDone = filesDone;
+            this.filesTotal = filesTotal;
+            this.bytesDone = bytesDone;
+            this.bytesTotal = bytesTotal;
+            this.bytesPerSecond = bytesPerSecond;
+            this.etaSeconds = etaSeconds;
+            this.finished = finished;
+        }
+
+        // By bytes when all sizes are known, otherwise by files
+        public int percent() {
+            if (bytesTotal > 0) {
+                return (int) Math.min(100, bytesDone * 100 / bytesTotal);
+            }
+            return filesTotal > 0 ? filesDone * 100 / filesTotal : 0;
+        }
+
+        // "1.2 MB of 5.0 MB · 350 KB/s · 12s left", leaving out what is unknown
+        public String describeTransfer() {
+            StringBuilder text = new StringBuilder(formatBytes(bytesDone));
+            if (bytesTotal > 0) {
+                text.append(" of ").append(formatBytes(bytesTotal));
+            }
+            if (bytesPerSecond > 0 && !finished) {
+                text.append(" · ").append(formatBytes(bytesPerSecond)).append("/s");
+            }
+            if (etaSeconds >= 0 && !finished) {
+                text.append(" · ");
+                if (etaSeconds >= 60) {
+                    text.append(etaSeconds / 60).append("m ");
+                }
+                text.append(etaSeconds % 60).append("s left");
+            }
+            return text.toString();
+        }
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Listener listener;
+    private final int filesTotal;
+    private final long bytesTotal;
+
+    private final AtomicInteger filesDone = new AtomicInteger();
+    // Bytes already on disk count towards progress but not towards the rate
+    private final AtomicLong bytesSkipped = new AtomicLong();
+    private final AtomicLong bytesTransferred = new AtomicLong();
+    private volatile String currentFile;
+    private final AtomicBoolean posted = new AtomicBoolean();
+
+    // Main thread only
+    private long lastPublish;
+    private long lastSampleTime;
+    private long lastSampleBytes;
+    private double rate;
+
+    private final Runnable publish = () -> {
+        posted.set(false);
+        publishNow(false);
+    };
+
+    public RestoreProgress(List<BackupFile> files, Listener listener) {
+        this.listener = listener;
+        this.filesTotal = files.size();
+        long total = 0;
+        for (BackupFile file : files) {
+            if (file.size < 0) {
+                total = -1;
+                break;
+            }
+            total += file.size;
+        }
+        this.bytesTotal = total;
+        this.lastSampleTime = SystemClock.elapsedRealtime();
+    }
+
+    public void fileStarted(String filename) {
+        currentFile = filename;
+        changed();
+    }
+
+    public void fileFinished() {
+        filesDone.incrementAndGet();
+        changed();
+    }
+
+    public void bytesTransferred(long count) {
+        bytesTransferred.addAndGet(count);
+        changed();
+    }
+
+    // Resumed parts, reused local files and files from an earlier attempt
+    public void bytesSkipped(long count) {
+        bytesSkipped.addAndGet(count);
+        changed();
+    }
+
+    // Publishes the final state right away
+    public void finish() {
+        mainHandler.removeCallbacks(publish);
+        mainHandler.post(() -> publishNow(true));
+    }
+
+    private void changed() {
+        // A publish that is already waiting will pick this change up
+        if (!posted.compareAndSet(false, true)) return;
+        mainHandler.postDelayed(publish, Math.max(0, lastPublish + MIN_INTERVAL_MS - SystemClock.uptimeMillis()));
+    }
+
+    private void publishNow(boolean finished) {
+        lastPublish = SystemClock.uptimeMillis();
+
+        long now = SystemClock.elapsedRealtime();
+        long transferred = bytesTransferred.get();
+        if (now - lastSampleTime >= 250) {
+            double sample = (transferred - lastSampleBytes) * 1000.0 / (now - lastSampleTime);
+            rate = rate == 0 ? sample : RATE_SMOOTHING * sample + (1 - RATE_SMOOTHING) * rate;
+            lastSampleTime = now;
+            lastSampleBytes = transferred;
+        }
+
+        long done = transferred + bytesSkipped.get();
+        long eta = -1;
+        if (bytesTotal > 0 && rate > 0) {
+            eta = (long) (Math.max(0, bytesTotal - done) / rate);
+        }
+        listener.onProgress(new Snapshot(currentFile, filesDone.get(), filesTotal, done, bytesTotal,
+            (long) rate, eta, finished));
+    }
+}
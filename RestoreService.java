@@ -0,0 +1,486 @@
+package org.renpy.android.cloudsave;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Build;
+import android.os.Handler;
+import android.os.IBinder;
+import android.os.Looper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Runs restores as a foreground service so they keep going when the
+// activity is rotated or left. Jobs are kept in a queue in the "cloudsave"
+// preferences until they finish, so a restore interrupted by the process
+// being killed starts again (and resumes its parts) when the service is
+// restarted. The activity attaches a Listener while it is visible.
+//
+// Needs <service android:name=".RestoreService" android:foregroundServiceType="dataSync"/>
+// and the FOREGROUND_SERVICE permission in the manifest.
+public class RestoreService extends Service {
+    private static final String CHANNEL_ID = "cloudsave_restore";
+    private static final int PROGRESS_NOTIFICATION_ID = 4201;
+    private static final int RESULT_NOTIFICATION_ID = 4202;
+    private static final String QUEUE_KEY = "restore_queue";
+    // Below this many files parallel single downloads are as quick as an archive
+    private static final int ARCHIVE_MIN_FILES = 4;
+
+    // One restore of a backup into a game folder
+    public static class Job {
+        final String gameId;
+        final String gameFolder;
+        final String folderTimestamp;
+        // Null for the user's own backups
+        final String sourceUserId;
+
+        public Job(String gameId, String gameFolder, String folderTimestamp, String sourceUserId) {
+            this.gameId = gameId;
+            this.gameFolder = gameFolder;
+            this.folderTimestamp = folderTimestamp;
+            this.sourceUserId = sourceUserId;
+        }
+
+        public boolean isCommunity() {
+            return sourceUserId != null;
+        }
+
+        // Identifies the restore for its staging folder and partial downloads
+        String sessionKey() {
+            return isCommunity() ? "community_" + sourceUserId + "_" + folderTimestamp : "backup_" + folderTimestamp;
+        }
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("game_id", gameId);
+            json.put("game_folder", gameFolder);
+            json.put("folder_timestamp", folderTimestamp);
+            if (sourceUserId != null) {
+                json.put("source_user_id", sourceUserId);
+            }
+            return json;
+        }
+
+        static Job fromJson(JSONObject json) {
+            return new Job(json.optString("game_id"), json.optString("game_folder"),
+                json.optString("folder_timestamp"), json.has("source_user_id") ? json.optString("source_user_id") : null);
+        }
+    }
+
+    // Called on the main thread
+    public interface Listener {
+        void onRestoreProgress(Job job, RestoreProgress.Snapshot progress);
+
+        // result is null when the restore could not start, error says why
+        void onRestoreFinished(Job job, RestoreEngine.Result result, String error);
+    }
+
+    // Only touched on the main thread
+    private static Listener listener;
+    private static Job activeJob;
+    private static RestoreProgress.Snapshot lastProgress;
+    private static Runnable undeliveredResult;
+
+    // Guarded by RestoreService.class together with the queue
+    private static boolean draining;
+
+    // The drain lasts as long as the whole queue, so it gets its own thread
+    // instead of holding one of the shared pool's for minutes
+    private static final ThreadPoolExecutor drainThread = newDrainThread();
+
+    // Notifications are rate limited by the system, so they follow the
+    // overlay at a slower pace
+    private static final long NOTIFICATION_INTERVAL_MS = 1000;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile int lastStartId;
+    private long lastNotification;
+    private CloudSaveApiClient apiClient;
+    private NotificationManager notifications;
+
+    public static void enqueue(Context context, Job job) {
+        Context app = context.getApplicationContext();
+        synchronized (RestoreService.class) {
+            List<Job> queue = readQueue(app);
+            for (Job queued : queue) {
+                if (queued.gameFolder.equals(job.gameFolder) && queued.sessionKey().equals(job.sessionKey())) {
+                    android.util.Log.d("CloudSave", "Restore " + job.sessionKey() + " already queued");
+                    return;
+                }
+            }
+            queue.add(job);
+            writeQueue(app, queue);
+        }
+
+        Intent intent = new Intent(app, RestoreService.class);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            app.startForegroundService(intent);
+        } else {
+            app.startService(intent);
+        }
+    }
+
+    // Replays the progress of a running restore, or the result of one that
+    // finished while nobody was listening
+    public static void attach(Listener newListener) {
+        listener = newListener;
+        if (activeJob != null && lastProgress != null) {
+            newListener.onRestoreProgress(activeJob, lastProgress);
+        }
+        if (undeliveredResult != null) {
+            Runnable result = undeliveredResult;
+            undeliveredResult = null;
+            result.run();
+        }
+    }
+
+    public static void detach(Listener oldListener) {
+        if (listener == oldListener) {
+            listener = null;
+        }
+    }
+
+    public static boolean isRestoring() {
+        return activeJob != null;
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        apiClient = CloudSaveApiClient.getInstance(this);
+        notifications = (NotificationManager) getSystemService(NOTIFICATION_SERVICE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            notifications.createNotificationChannel(
+                new NotificationChannel(CHANNEL_ID, "Save restores", NotificationManager.IMPORTANCE_LOW));
+        }
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        lastStartId = startId;
+        startForeground(PROGRESS_NOTIFICATION_ID, buildProgressNotification("Preparing restore...", 0, 0));
+        synchronized (RestoreService.class) {
+            if (!draining) {
+                draining = true;
+                drainThread.execute(this::drainQueue);
+            }
+        }
+        // Restarted after a kill, the queue still holds the unfinished job
+        return START_STICKY;
+    }
+
+    private static ThreadPoolExecutor newDrainThread() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+
+    private void drainQueue() {
+        while (true) {
+            Job job;
+            synchronized (RestoreService.class) {
+                List<Job> queue = readQueue(this);
+                if (queue.isEmpty()) {
+                    draining = false;
+                    break;
+                }
+                job = queue.get(0);
+            }
+
+            runJob(job);
+
+            synchronized (RestoreService.class) {
+                List<Job> queue = readQueue(this);
+                if (!queue.isEmpty() && queue.get(0).sessionKey().equals(job.sessionKey())) {
+                    queue.remove(0);
+                }
+                writeQueue(this, queue);
+            }
+        }
+
+        int startId = lastStartId;
+        mainHandler.post(() -> {
+            synchronized (RestoreService.class) {
+                // A job enqueued meanwhile already started the next drain
+                if (draining) return;
+            }
+            stopForeground(true);
+            // Only stops if no start request arrived after startId
+            stopSelf(startId);
+        });
+    }
+
+    private void runJob(Job job) {
+        mainHandler.post(() -> {
+            activeJob = job;
+            lastProgress = null;
+        });
+
+        RestoreEngine.Result result = null;
+        String error = null;
+        try {
+            // Download into a staging copy; the live saves stay in place until it is complete
+            StagedRestore staged = new StagedRestore(new File(job.gameFolder), job.sessionKey());
+            File saveDir = new File(staged.getStagingDir(), "saves");
+            saveDir.mkdirs();
+            if (job.isCommunity()) {
+                new File(saveDir, "sync").mkdirs();
+            }
+
+            // Partial downloads live outside the game folder so they survive a retry
+            ResumableDownloader downloader = new ResumableDownloader(
+                new File(job.gameFolder + ".parts"), job.sessionKey());
+            DeltaSync delta = createDeltaSync(new File(job.gameFolder, "saves"));
+
+            List<BackupFile> backupFiles = apiClient.backupFiles(job.gameId, job.folderTimestamp);
+            if (backupFiles == null) {
+                error = "Download failed";
+            } else {
+                List<String> allFiles = BackupFileListParser.filenames(backupFiles);
+                Map<String, BackupFile> filesByName = new HashMap<>();
+                for (BackupFile file : backupFiles) {
+                    filesByName.put(file.filename, file);
+                }
+
+                RestoreProgress progress = new RestoreProgress(backupFiles, snapshot -> reportProgress(job, snapshot));
+
+                // Files that need no request: finished by an earlier attempt or copied from the live saves
+                Set<String> done = new HashSet<>();
+                for (BackupFile file : backupFiles) {
+                    if (reuseLocal(file, saveDir, delta, progress)) {
+                        done.add(file.filename);
+                    }
+                }
+
+                // Many files go faster as one stream than as a request each
+                Set<String> missing = new HashSet<>(allFiles);
+                missing.removeAll(done);
+                if (missing.size() >= ARCHIVE_MIN_FILES && useArchive()) {
+                    done.addAll(fetchArchive(job, saveDir, missing, progress));
+                }
+
+                // Whatever is still missing is downloaded file by file, in parallel
+                result = createRestoreEngine().run(allFiles,
+                    filename -> done.contains(filename) || fetchFile(job, filesByName.get(filename), saveDir, downloader, progress),
+                    (filename, success, completed, total) -> progress.fileFinished());
+                progress.finish();
+
+                if (delta != null) {
+                    android.util.Log.i("CloudSave", "Delta restore reused " + delta.getFilesReused() + " of " +
+                        result.total + " files (" + delta.getBytesReused() + " bytes)");
+                }
+                if (!result.hasFailures()) {
+                    downloader.finish();
+                    staged.commit();
+                }
+            }
+        } catch (Exception e) {
+            android.util.Log.e("CloudSave", "Restore " + job.sessionKey() + " failed: " + e.getMessage(), e);
+            error = e.getMessage();
+        }
+
+        reportFinished(job, result, error);
+    }
+
+    private boolean reuseLocal(BackupFile file, File saveDir, DeltaSync delta, RestoreProgress progress) {
+        try {
+            File target = new File(saveDir, file.filename);
+            // Completed by an earlier attempt of this restore, or unchanged since the last one
+            if (target.exists() || (delta != null && delta.reuse(file, target))) {
+                progress.bytesSkipped(target.length());
+                return true;
+            }
+        } catch (Exception e) {
+            android.util.Log.w("CloudSave", "Cannot reuse " + file.filename + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    // Returns the files the archive delivered; an empty set when the server
+    // has none or the stream broke before the first entry
+    private Set<String> fetchArchive(Job job, File saveDir, Set<String> wanted, RestoreProgress progress) {
+        try {
+            HttpURLConnection conn = apiClient.openArchive(job.gameId, job.folderTimestamp, job.sourceUserId);
+            Set<String> written = ArchiveRestore.extract(conn, saveDir, wanted, new ArchiveRestore.Listener() {
+                @Override
+                public void onEntryStarted(String filename) {
+                    progress.fileStarted(filename);
+                }
+
+                @Override
+                public void onBytes(long count) {
+                    progress.bytesTransferred(count);
+                }
+            });
+            if (written != null) {
+                android.util.Log.i("CloudSave", "Archive delivered " + written.size() + " of " + wanted.size() + " files");
+                return written;
+            }
+        } catch (ArchiveRestore.PartialArchiveException e) {
+            return e.written;
+        } catch (IOException e) {
+            android.util.Log.w("CloudSave", "Archive download failed: " + e.getMessage());
+        }
+        return new HashSet<>();
+    }
+
+    private boolean useArchive() {
+        return getSharedPreferences("cloudsave", MODE_PRIVATE).getBoolean("archive_restore", true);
+    }
+
+    private boolean fetchFile(Job job, BackupFile file, File saveDir, ResumableDownloader downloader,
+                              RestoreProgress progress) {
+        try {
+            progress.fileStarted(file.filename);
+            File target = new File(saveDir, file.filename);
+            return downloader.download(file.filename, target,
+                () -> apiClient.openDownload(job.gameId, file.filename, job.sourceUserId,
+                    job.isCommunity() ? job.folderTimestamp : null),
+                (count, resumed) -> {
+                    if (resumed) {
+                        progress.bytesSkipped(count);
+                    } else {
+                        progress.bytesTransferred(count);
+                    }
+                });
+        } catch (Exception e) {
+            android.util.Log.e("CloudSave", "Error downloading " + file.filename + ": " + e.getMessage());
+        }
+        return false;
+    }
+
+    private RestoreEngine createRestoreEngine() {
+        SharedPreferences prefs = getSharedPreferences("cloudsave", MODE_PRIVATE);
+        return new RestoreEngine(prefs.getInt("restore_concurrency", RestoreEngine.DEFAULT_CONCURRENCY));
+    }
+
+    // Returns null when delta restores are turned off
+    private DeltaSync createDeltaSync(File liveSaveDir) {
+        SharedPreferences prefs = getSharedPreferences("cloudsave", MODE_PRIVATE);
+        return prefs.getBoolean("delta_restore", true) ? new DeltaSync(liveSaveDir) : null;
+    }
+
+    // Already throttled by RestoreProgress, runs on the main thread
+    private void reportProgress(Job job, RestoreProgress.Snapshot progress) {
+        lastProgress = progress;
+        if (listener != null) {
+            listener.onRestoreProgress(job, progress);
+        }
+
+        long now = android.os.SystemClock.uptimeMillis();
+        if (now - lastNotification >= NOTIFICATION_INTERVAL_MS) {
+            lastNotification = now;
+            notifications.notify(PROGRESS_NOTIFICATION_ID, buildProgressNotification(
+                progress.filesDone + "/" + progress.filesTotal + " files · " + progress.describeTransfer(),
+                progress.percent(), 100));
+        }
+    }
+
+    private void reportFinished(Job job, RestoreEngine.Result result, String error) {
+        String text;
+        if (result == null) {
+            text = "Restore failed: " + error;
+        } else if (result.hasFailures()) {
+            text = "Restore incomplete, your current saves were kept";
+        } else {
+            text = "Restored " + result.succeeded + " files";
+        }
+        notifications.notify(RESULT_NOTIFICATION_ID, newNotification()
+            .setSmallIcon(android.R.drawable.stat_sys_download_done)
+            .setContentTitle("Cloud save restore")
+            .setContentText(text)
+            .setContentIntent(openActivityIntent())
+            .setAutoCancel(true)
+            .build());
+
+        mainHandler.post(() -> {
+            activeJob = null;
+            lastProgress = null;
+            Runnable delivery = () -> listener.onRestoreFinished(job, result, error);
+            if (listener != null) {
+                delivery.run();
+            } else {
+                // Shown by the next activity that attaches
+                undeliveredResult = delivery;
+            }
+        });
+    }
+
+    private Notification buildProgressNotification(String text, int completed, int total) {
+        return newNotification()
+            .setSmallIcon(android.R.drawable.stat_sys_download)
+            .setContentTitle("Restoring saves")
+            .setContentText(text)
+            .setProgress(total, completed, total == 0)
+            .setOngoing(true)
+            .setOnlyAlertOnce(true)
+            .setContentIntent(openActivityIntent())
+            .build();
+    }
+
+    private Notification.Builder newNotification() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            return new Notification.Builder(this, CHANNEL_ID);
+        }
+        return new Notification.Builder(this);
+    }
+
+    private PendingIntent openActivityIntent() {
+        Intent intent = new Intent(this, DownloadSaveActivity.class);
+        return PendingIntent.getActivity(this, 0, intent,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+    }
+
+    private static List<Job> readQueue(Context context) {
+        List<Job> queue = new ArrayList<>();
+        String stored = context.getSharedPreferences("cloudsave", MODE_PRIVATE).getString(QUEUE_KEY, "[]");
+        try {
+            JSONArray array = new JSONArray(stored);
+            for (int i = 0; i < array.length(); i++) {
+                queue.add(Job.fromJson(array.getJSONObject(i)));
+            }
+        } catch (JSONException e) {
+            android.util.Log.w("CloudSave", "Dropping unreadable restore queue: " + e.getMessage());
+        }
+        return queue;
+    }
+
+    private static void writeQueue(Context context, List<Job> queue) {
+        JSONArray array = new JSONArray();
+        try {
+            for (Job job : queue) {
+                array.put(job.toJson());
+            }
+        } catch (JSONException e) {
+            android.util.Log.w("CloudSave", "Cannot store restore queue: " + e.getMessage());
+        }
+        // commit() so the queue is on disk before the service can be killed
+        context.getSharedPreferences("cloudsave", MODE_PRIVATE).edit().putString(QUEUE_KEY, array.toString()).commit();
+    }
+}
@@ -0,0 +1,246 @@
+package org.renpy.android.cloudsave;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+
+// Downloads files into <name>.part next to a small journal and only renames
+// them into place once complete. An interrupted download (dropped network,
+// killed activity) resumes from the journaled offset with an HTTP Range
+// request instead of starting over.
+public class ResumableDownloader {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long JOURNAL_INTERVAL = 256 * 1024;
+
+    public interface ConnectionOpener {
+        // Must return an unconnected request so Range headers can be added
+        HttpURLConnection open() throws IOException;
+    }
+
+    public interface ByteListener {
+        // resumed is set for bytes a previous attempt already wrote
+        void onBytes(long count, boolean resumed);
+    }
+
+    private final File sessionDir;
+
+    // Parts are kept per backup under partsRoot/sessionKey. Leftovers from
+    // any other backup are dropped since they can no longer be resumed.
+    public ResumableDownloader(File partsRoot, String sessionKey) {
+        sessionDir = new File(partsRoot, sessionKey.replaceAll("[^A-Za-z0-9._-]", "_"));
+        File[] stale = partsRoot.listFiles();
+        if (stale != null) {
+            for (File dir : stale) {
+                if (!dir.getName().equals(sessionDir.getName())) {
+                    deleteRecursive(dir);
+                }
+            }
+        }
+        sessionDir.mkdirs();
+    }
+
+    public boolean download(String filename, File target, ConnectionOpener opener) throws IOException {
+        return download(filename, target, opener, null);
+    }
+
+    public boolean download(String filename, File target, ConnectionOpener opener, ByteListener listener) throws IOException {
+        File part = new File(sessionDir, filename + ".part");
+        File journalFile = new File(sessionDir, filename + ".journal");
+        part.getParentFile().mkdirs();
+        FileProgress progress = new FileProgress(listener);
+
+        IOException lastError = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                if (transfer(opener, part, journalFile, progress)) {
+                    target.getParentFile().mkdirs();
+                    if (target.exists() && !target.delete()) {
+                        throw new IOException("Cannot replace " + target);
+                    }
+                    if (!part.renameTo(target)) {
+                        throw new IOException("Cannot move " + part + " to " + target);
+                    }
+                    journalFile.delete();
+                    return true;
+                }
+                return false;
+            } catch (IOException e) {
+                lastError = e;
+                android.util.Log.w("CloudSave", "Download of " + filename + " interrupted at " +
+                    part.length() + " bytes, attempt " + (attempt + 1) + ": " + e.getMessage());
+            }
+        }
+        throw lastError;
+    }
+
+    // Removes all parts of this session once the restore has completed
+    public void finish() {
+        deleteRecursive(sessionDir);
+    }
+
+    // Returns true when the part file holds the complete body, false when the
+    // server refused the file. Throws when the transfer broke off midway.
+    private boolean transfer(ConnectionOpener opener, File part, File journalFile, FileProgress progress) throws IOException {
+        Journal journal = Journal.read(journalFile);
+        long offset = 0;
+        if (journal != null && part.exists()) {
+            offset = Math.min(journal.completed, part.length());
+        } else {
+            journal = new Journal();
+            part.delete();
+        }
+
+        HttpURLConnection conn = opener.open();
+        // Offsets refer to the raw file, so the body must not be compressed.
+        // Save files are zip and zlib data anyway and gain nothing from gzip.
+        conn.setRequestProperty("Accept-Encoding", "identity");
+        if (offset > 0) {
+            conn.setRequestProperty("Range", "bytes=" + offset + "-");
+            if (journal.validator != null) {
+                conn.setRequestProperty("If-Range", journal.validator);
+            }
+        }
+
+        try {
+            int code = conn.getResponseCode();
+            if (code == 416 && offset > 0 && offset == journal.length) {
+                // Everything was already on disk
+                CloudSaveApiClient.readFully(conn.getErrorStream());
+                progress.reach(offset, true);
+                return true;
+            }
+            if (code == 206 && offset > 0 && rangeStart(conn) == offset) {
+                // Resuming
+                progress.reach(offset, true);
+            } else if (code == 200) {
+                offset = 0;
+                journal.validator = conn.getHeaderField("ETag");
+                if (journal.validator == null) {
+                    journal.validator = conn.getHeaderField("Last-Modified");
+                }
+                journal.length = conn.getContentLength();
+            } else {
+                // Unusable answer: forget the partial state so the next try is clean
+                CloudSaveApiClient.readFully(code >= 400 ? conn.getErrorStream() : conn.getInputStream());
+                journalFile.delete();
+                part.delete();
+                if (code == 206 || code == 416) {
+                    throw new IOException("Server rejected resume at " + offset);
+                }
+                return false;
+            }
+
+            InputStream in = conn.getInputStream();
+            FileOutputStream out = new FileOutputStream(part, offset > 0);
+            try {
+                byte[] buffer = new byte[8192];
+                long sinceJournal = 0;
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    offset += read;
+                    sinceJournal += read;
+                    progress.reach(offset, false);
+                    if (sinceJournal >= JOURNAL_INTERVAL) {
+                        out.getFD().sync();
+                        journal.completed = offset;
+                        journal.write(journalFile);
+                        sinceJournal = 0;
+                    }
+                }
+            } finally {
+                in.close();
+                out.getFD().sync();
+                out.close();
+                journal.completed = offset;
+                journal.write(journalFile);
+            }
+
+            if (journal.length >= 0 && offset != journal.length) {
+                throw new IOException("Incomplete body: " + offset + " of " + journal.length + " bytes");
+            }
+            return true;
+        } catch (IOException e) {
+            conn.disconnect();
+            throw e;
+        }
+    }
+
+    // "Content-Range: bytes 100-999/1000" -> 100
+    private static long rangeStart(HttpURLConnection conn) {
+        String range = conn.getHeaderField("Content-Range");
+        if (range == null || !range.startsWith("bytes ")) return -1;
+        int dash = range.indexOf('-');
+        try {
+            return Long.parseLong(range.substring(6, dash).trim());
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void deleteRecursive(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursive(child);
+            }
+        }
+        file.delete();
+    }
+
+    // Reports each byte of a file once, even when a retry starts it over
+    private static class FileProgress {
+        private final ByteListener listener;
+        private long reported;
+
+        FileProgress(ByteListener listener) {
+            this.listener = listener;
+        }
+
+        void reach(long length, boolean resumed) {
+            if (listener != null && length > reported) {
+                listener.onBytes(length - reported, resumed);
+                reported = length;
+            }
+        }
+    }
+
+    // Small text file next to each part: validator, total length, bytes on disk
+    private static class Journal {
+        String validator;
+        long length = -1;
+        long completed;
+
+        static Journal read(File file) {
+            if (!file.exists()) return null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+                Journal journal = new Journal();
+                String validator = reader.readLine();
+                journal.validator = validator == null || validator.isEmpty() ? null : validator;
+                journal.length = Long.parseLong(reader.readLine());
+                journal.completed = Long.parseLong(reader.readLine());
+                return journal;
+            } catch (IOException | RuntimeException e) {
+                file.delete();
+                return null;
+            }
+        }
+
+        void write(File file) throws IOException {
+            File tmp = new File(file.getPath() + ".tmp");
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), "UTF-8")) {
+                writer.write((validator != null ? validator : "") + "\n" + length + "\n" + completed + "\n");
+            }
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Cannot write journal " + file);
+            }
+        }
+    }
+}
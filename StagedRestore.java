@@ -0,0 +1,138 @@
+package org.renpy.android.cloudsave;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+// Builds a restored game folder next to the live one and swaps it in with
+// renames, so the live saves are untouched until every file has arrived.
+// The replaced folder is kept as a single rollback generation.
+public class StagedRestore {
+    private static final String SESSION_FILE = ".restore-session";
+
+    private final File liveDir;
+    private final File stagingDir;
+    private final File rollbackDir;
+    // The older rollback generation while a swap is in progress
+    private final File previousRollbackDir;
+
+    // A staging folder left by an earlier attempt at the same restore is
+    // kept, since the files in it are complete. Anything else is discarded.
+    public StagedRestore(File liveDir, String sessionKey) throws IOException {
+        this.liveDir = liveDir;
+        this.stagingDir = new File(liveDir.getPath() + ".staging");
+        this.rollbackDir = new File(liveDir.getPath() + ".rollback");
+        this.previousRollbackDir = new File(liveDir.getPath() + ".rollback.previous");
+
+        File sessionFile = new File(stagingDir, SESSION_FILE);
+        if (stagingDir.exists() && !sessionKey.equals(readSession(sessionFile))) {
+            deleteRecursive(stagingDir);
+        }
+        sweepTrash();
+        recoverPreviousRollback();
+
+        if (!stagingDir.isDirectory() && !stagingDir.mkdirs()) {
+            throw new IOException("Cannot create " + stagingDir);
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(sessionFile), "UTF-8")) {
+            writer.write(sessionKey);
+        }
+    }
+
+    public File getStagingDir() {
+        return stagingDir;
+    }
+
+    // live -> rollback, staging -> live. The old rollback generation is
+    // renamed out of the way first and only goes to the trash once the new
+    // live folder is in place; a failed swap puts everything back.
+    public void commit() throws IOException {
+        new File(stagingDir, SESSION_FILE).delete();
+
+        boolean hadRollback = rollbackDir.exists();
+        if (hadRollback && !rollbackDir.renameTo(previousRollbackDir)) {
+            throw new IOException("Cannot move " + rollbackDir + " aside");
+        }
+
+        boolean hadLive = liveDir.exists();
+        if (hadLive && !liveDir.renameTo(rollbackDir)) {
+            if (hadRollback) {
+                previousRollbackDir.renameTo(rollbackDir);
+            }
+            throw new IOException("Cannot move " + liveDir + " to " + rollbackDir);
+        }
+        if (!stagingDir.renameTo(liveDir)) {
+            if (hadLive) {
+                rollbackDir.renameTo(liveDir);
+            }
+            if (hadRollback) {
+                previousRollbackDir.renameTo(rollbackDir);
+            }
+            throw new IOException("Cannot move " + stagingDir + " to " + liveDir);
+        }
+
+        if (hadRollback) {
+            trash(previousRollbackDir);
+        }
+    }
+
+    // A swap interrupted by a kill leaves the older generation aside. It is
+    // still the rollback if the live folder never moved, else it is stale.
+    private void recoverPreviousRollback() {
+        if (!previousRollbackDir.exists()) return;
+        if (!rollbackDir.exists()) {
+            previousRollbackDir.renameTo(rollbackDir);
+        } else {
+            trash(previousRollbackDir);
+        }
+    }
+
+    // Renamed first so a later swap never finds it in the way
+    private void trash(File dir) {
+        File trash = new File(liveDir.getPath() + ".trash" + System.currentTimeMillis());
+        deleteInBackground(dir.renameTo(trash) ? trash : dir);
+    }
+
+    // Folders from a swap that was interrupted before the background delete finished
+    private void sweepTrash() {
+        File parent = liveDir.getParentFile();
+        File[] siblings = parent != null ? parent.listFiles() : null;
+        if (siblings == null) return;
+        String prefix = liveDir.getName() + ".trash";
+        for (File sibling : siblings) {
+            if (sibling.getName().startsWith(prefix)) {
+                deleteInBackground(sibling);
+            }
+        }
+    }
+
+    private static String readSession(File file) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"))) {
+            return reader.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void deleteInBackground(File dir) {
+        TaskExecutor.getInstance().execute(TaskExecutor.PRIORITY_BACKGROUND, null, () -> {
+            deleteRecursive(dir);
+            android.util.Log.d("CloudSave", "Deleted " + dir);
+        });
+    }
+
+    private static void deleteRecursive(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursive(child);
+            }
+        }
+        file.delete();
+    }
+}
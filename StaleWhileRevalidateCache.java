@@ -0,0 +1,55 @@
+package org.renpy.android.cloudsave;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded LRU cache whose entries are still served after they go stale.
+// Callers show the stale value right away and refresh it in the background.
+public class StaleWhileRevalidateCache<K, V> {
+    private final long freshMillis;
+    private final LinkedHashMap<K, Stamped<V>> entries;
+
+    private static class Stamped<V> {
+        final V value;
+        long storedAt;
+
+        Stamped(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    public StaleWhileRevalidateCache(final int maxEntries, long freshMillis) {
+        this.freshMillis = freshMillis;
+        // Access order, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<K, Stamped<V>>(maxEntries + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Stamped<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Returns the cached value, fresh or stale, or null if there is none
+    public synchronized V get(K key) {
+        Stamped<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public synchronized boolean isFresh(K key) {
+        Stamped<V> entry = entries.get(key);
+        return entry != null && System.currentTimeMillis() - entry.storedAt < freshMillis;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Stamped<>(value, System.currentTimeMillis()));
+    }
+
+    // Keeps the value for display but forces the next lookup to refresh it
+    public synchronized void invalidate(K key) {
+        Stamped<V> entry = entries.get(key);
+        if (entry != null) {
+            entry.storedAt = 0;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.renpy.android.cloudsave;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared pool for the background work of the cloud save screens. Tasks run
+// by priority, are skipped once the token of the screen that queued them is
+// cancelled, and a keyed task is dropped while an identical one still waits.
+public class TaskExecutor {
+    // Restores the user is watching, then user actions, then list loads,
+    // then telemetry and cleanup nobody waits for
+    public static final int PRIORITY_RESTORE = 0;
+    public static final int PRIORITY_ACTION = 1;
+    public static final int PRIORITY_LISTING = 2;
+    public static final int PRIORITY_BACKGROUND = 3;
+
+    private static final int THREADS = 3;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    private static TaskExecutor instance;
+
+    // Cancelled when the screen, or the part of it, that queued the work goes
+    // away. A child token is cancelled along with its parent.
+    public static class Token {
+        private final Token parent;
+        private volatile boolean cancelled;
+
+        public Token() {
+            this(null);
+        }
+
+        public Token(Token parent) {
+            this.parent = parent;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled || (parent != null && parent.isCancelled());
+        }
+    }
+
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Task> waiting = new HashMap<>();
+
+    private TaskExecutor() {
+        pool = new ThreadPoolExecutor(THREADS, THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new PriorityBlockingQueue<Runnable>());
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized TaskExecutor getInstance() {
+        if (instance == null) {
+            instance = new TaskExecutor();
+        }
+        return instance;
+    }
+
+    // token may be null for work that must finish even if the screen closes
+    public void execute(int priority, Token token, Runnable work) {
+        submit(null, priority, token, work);
+    }
+
+    // Returns false when a task with the same key is still waiting to start;
+    // that one will see the same state this one would have. A task that is
+    // already running does not count, since it may have read stale state.
+    public boolean executeOnce(String key, int priority, Token token, Runnable work) {
+        return submit(key, priority, token, work);
+    }
+
+    private boolean submit(String key, int priority, Token token, Runnable work) {
+        Task task = new Task(key, priority, sequence.getAndIncrement(), token, work);
+        if (key != null) {
+            synchronized (waiting) {
+                Task queued = waiting.get(key);
+                if (queued != null && !queued.isCancelled()) {
+                    android.util.Log.d("CloudSave", "Coalesced task " + key);
+                    return false;
+                }
+                waiting.put(key, task);
+            }
+        }
+        pool.execute(task);
+        return true;
+    }
+
+    private class Task implements Runnable, Comparable<Task> {
+        final String key;
+        final int priority;
+        final long order;
+        final Token token;
+        final Runnable work;
+
+        Task(String key, int priority, long order, Token token, Runnable work) {
+            this.key = key;
+            this.priority = priority;
+            this.order = order;
+            this.token = token;
+            this.work = work;
+        }
+
+        boolean isCancelled() {
+            return token != null && token.isCancelled();
+        }
+
+        @Override
+        public void run() {
+            if (key != null) {
+                synchronized (waiting) {
+                    if (waiting.get(key) == this) {
+                        waiting.remove(key);
+                    }
+                }
+            }
+            if (isCancelled()) {
+                android.util.Log.d("CloudSave", "Skipped cancelled task " + (key != null ? key : ""));
+                return;
+            }
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                android.util.Log.e("CloudSave", "Background task failed: " + e.getMessage(), e);
+            }
+        }
+
+        // Higher priority first, then first come first served
+        @Override
+        public int compareTo(Task other) {
+            if (priority != other.priority) {
+                return Integer.compare(priority, other.priority);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
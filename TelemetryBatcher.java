@@ -0,0 +1,208 @@
+package org.renpy.android.cloudsave;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+// Collects download events in memory and reports them in one request once
+// enough have piled up, a minute after the first one, or when the screen
+// goes to the background. Events that could not be sent are kept in the
+// prefs and go out with the next flush.
+public class TelemetryBatcher {
+    private static final String PENDING_KEY = "telemetry_pending";
+
+    private static final int MAX_BATCH = 20;
+    private static final long FLUSH_DELAY_MS = 60 * 1000;
+    // Oldest events are dropped beyond this while the server is unreachable
+    private static final int MAX_PENDING = 500;
+    // A failed send is retried after this, doubling up to RETRY_MAX_MS
+    private static final long RETRY_MIN_MS = 5 * 1000;
+    private static final long RETRY_MAX_MS = 10 * 60 * 1000;
+
+    private static TelemetryBatcher instance;
+
+    private final Context context;
+    private final CloudSaveApiClient apiClient;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Guarded by this
+    private JSONArray buffered = new JSONArray();
+    private boolean sending;
+    // Set once the server answered the batch endpoint with 404
+    private boolean batchUnsupported;
+    private long retryDelayMs = RETRY_MIN_MS;
+    private long eventSequence;
+
+    private final Runnable flushLater = this::flush;
+
+    private TelemetryBatcher(Context context) {
+        this.context = context.getApplicationContext();
+        this.apiClient = CloudSaveApiClient.getInstance(this.context);
+    }
+
+    public static synchronized TelemetryBatcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new TelemetryBatcher(context);
+        }
+        return instance;
+    }
+
+    public void trackDownload(String saveId) {
+        int count;
+        synchronized (this) {
+            JSONObject event = new JSONObject();
+            try {
+                // Sent events are removed by id, the pending list may have
+                // been trimmed meanwhile
+                event.put("event_id", Long.toString(System.currentTimeMillis(), 36) + "-" + eventSequence++);
+                event.put("save_id", saveId);
+                event.put("downloaded_at", System.currentTimeMillis());
+            } catch (JSONException e) {}
+            buffered.put(event);
+            count = buffered.length();
+        }
+        if (count >= MAX_BATCH) {
+            flush();
+        } else if (count == 1) {
+            mainHandler.postDelayed(flushLater, FLUSH_DELAY_MS);
+        }
+    }
+
+    // Persists what is buffered and sends everything that is pending
+    public void flush() {
+        mainHandler.removeCallbacks(flushLater);
+        synchronized (this) {
+            if (buffered.length() > 0) {
+                JSONArray pending = readPending();
+                for (int i = 0; i < buffered.length(); i++) {
+                    pending.put(buffered.opt(i));
+                }
+                writePending(pending);
+                buffered = new JSONArray();
+            }
+            if (sending || readPending().length() == 0) return;
+            sending = true;
+        }
+        TaskExecutor.getInstance().execute(TaskExecutor.PRIORITY_BACKGROUND, null, this::sendPending);
+    }
+
+    private void sendPending() {
+        while (true) {
+            JSONArray batch = new JSONArray();
+            synchronized (this) {
+                JSONArray pending = readPending();
+                if (pending.length() == 0) {
+                    sending = false;
+                    retryDelayMs = RETRY_MIN_MS;
+                    return;
+                }
+                for (int i = 0; i < pending.length() && i < MAX_BATCH; i++) {
+                    batch.put(pending.opt(i));
+                }
+            }
+
+            int sent = send(batch);
+            synchronized (this) {
+                if (sent > 0) {
+                    Set<String> delivered = new HashSet<>();
+                    for (int i = 0; i < sent; i++) {
+                        delivered.add(eventKey(batch.optJSONObject(i)));
+                    }
+                    JSONArray pending = readPending();
+                    JSONArray rest = new JSONArray();
+                    for (int i = 0; i < pending.length(); i++) {
+                        if (!delivered.contains(eventKey(pending.optJSONObject(i)))) {
+                            rest.put(pending.opt(i));
+                        }
+                    }
+                    writePending(rest);
+                }
+                if (sent < batch.length()) {
+                    // Left for the next flush, which comes by itself after a
+                    // growing delay in case no new events or pause trigger one
+                    sending = false;
+                    mainHandler.postDelayed(flushLater, retryDelayMs);
+                    retryDelayMs = Math.min(retryDelayMs * 2, RETRY_MAX_MS);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Returns how many events from the head of batch were delivered
+    private int send(JSONArray batch) {
+        if (!batchUnsupported) {
+            try {
+                CloudSaveApiClient.Response response = apiClient.trackDownloads(batch);
+                if (response.code != 404) {
+                    if (response.code >= 500) return 0;
+                    // A 4xx would come back the same way, so the batch is
+                    // dropped rather than retried forever
+                    if (!response.isOk()) {
+                        android.util.Log.w("CloudSave", "Telemetry batch refused with HTTP " + response.code);
+                    }
+                    return batch.length();
+                }
+            } catch (IOException e) {
+                android.util.Log.w("CloudSave", "Could not send telemetry: " + e.getMessage());
+                return 0;
+            }
+            android.util.Log.i("CloudSave", "No batch telemetry endpoint, reporting downloads one by one");
+            batchUnsupported = true;
+        }
+
+        // Older servers: still one pass over the pooled connection. Events
+        // before a failure were delivered and must not go out twice.
+        for (int i = 0; i < batch.length(); i++) {
+            JSONObject event = batch.optJSONObject(i);
+            try {
+                int code = apiClient.trackDownload(event != null ? event.optString("save_id", "") : "").code;
+                if (code >= 500) return i;
+            } catch (IOException e) {
+                android.util.Log.w("CloudSave", "Could not send telemetry: " + e.getMessage());
+                return i;
+            }
+        }
+        return batch.length();
+    }
+
+    // Events stored before they had ids are told apart by their content
+    private static String eventKey(JSONObject event) {
+        if (event == null) return "";
+        String id = event.optString("event_id", "");
+        return id.isEmpty() ? event.toString() : id;
+    }
+
+    // Caller holds the lock
+    private JSONArray readPending() {
+        String stored = context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE).getString(PENDING_KEY, "[]");
+        try {
+            return new JSONArray(stored);
+        } catch (JSONException e) {
+            android.util.Log.w("CloudSave", "Dropping unreadable telemetry: " + e.getMessage());
+            return new JSONArray();
+        }
+    }
+
+    // Caller holds the lock
+    private void writePending(JSONArray pending) {
+        if (pending.length() > MAX_PENDING) {
+            JSONArray newest = new JSONArray();
+            for (int i = pending.length() - MAX_PENDING; i < pending.length(); i++) {
+                newest.put(pending.opt(i));
+            }
+            pending = newest;
+        }
+        SharedPreferences prefs = context.getSharedPreferences("cloudsave", Context.MODE_PRIVATE);
+        prefs.edit().putString(PENDING_KEY, pending.toString()).apply();
+    }
+}